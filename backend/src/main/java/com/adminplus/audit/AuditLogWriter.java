@@ -0,0 +1,217 @@
+package com.adminplus.audit;
+
+import com.adminplus.constants.CountedEntity;
+import com.adminplus.entity.LogEntity;
+import com.adminplus.repository.LogRepository;
+import com.adminplus.service.EntityCounterService;
+import com.adminplus.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 操作日志批量写入器
+ * 日志先进入有界队列，由后台线程按数量或时间触发批量写入（配合 hibernate.jdbc.batch_size），
+ * 每批一个事务；队列满时短暂阻塞调用方，仍无法入队则丢弃并计数；应用关闭时写完队列中剩余的日志
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    // 关闭时等待写入完成的最长时间
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final LogRepository logRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCounterService entityCounterService;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final BlockingQueue<LogEntity> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLogWriter(LogRepository logRepository,
+                          TransactionTemplate transactionTemplate,
+                          EntityCounterService entityCounterService,
+                          SnowflakeIdGenerator snowflakeIdGenerator,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit-log.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit-log.batch-size:200}") int batchSize,
+                          @Value("${audit-log.flush-interval:1s}") Duration flushInterval,
+                          @Value("${audit-log.offer-timeout:50ms}") Duration offerTimeout) {
+        this.logRepository = logRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityCounterService = entityCounterService;
+        this.snowflakeIdGenerator = snowflakeIdGenerator;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.written = Counter.builder("audit.log.written")
+                .description("已写入的操作日志数")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("audit.log.dropped")
+                .description("队列已满被丢弃的操作日志数")
+                .register(meterRegistry);
+        this.failed = Counter.builder("audit.log.failed")
+                .description("批量写入失败的操作日志数")
+                .register(meterRegistry);
+        Gauge.builder("audit.log.queue.size", queue, BlockingQueue::size)
+                .description("待写入的操作日志数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 提交一条操作日志（不等待写入完成）
+     */
+    public void submit(LogEntity logEntity) {
+        if (!running) {
+            // 写入线程未运行（启动前或已关闭）时直接写入
+            flush(List.of(logEntity));
+            return;
+        }
+
+        try {
+            if (!queue.offer(logEntity, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                dropped.increment();
+                log.warn("操作日志队列已满，丢弃日志: module={}, description={}",
+                        logEntity.getModule(), logEntity.getDescription());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = Thread.ofVirtual().name("audit-log-writer").start(this::runLoop);
+        log.info("操作日志批量写入器已启动: capacity={}, batchSize={}, flushInterval={}",
+                queue.remainingCapacity(), batchSize, flushInterval);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        try {
+            if (!thread.join(SHUTDOWN_TIMEOUT)) {
+                log.warn("操作日志写入未在 {} 内完成，剩余 {} 条", SHUTDOWN_TIMEOUT, queue.size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // 与 stop 并发的 submit 可能在写入线程退出后才入队，在此同步写完
+        drainRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runLoop() {
+        List<LogEntity> batch = new ArrayList<>(batchSize);
+        // 停止后继续写完队列中剩余的日志
+        while (running || !queue.isEmpty()) {
+            try {
+                LogEntity first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 从第一条日志入队起，攒满一批或到达刷新间隔即返回
+     */
+    private void fillBatch(List<LogEntity> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            LogEntity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void drainRemaining() {
+        List<LogEntity> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<LogEntity> batch) {
+        try {
+            assignIds(batch);
+            transactionTemplate.executeWithoutResult(status -> logRepository.saveAll(batch));
+            written.increment(batch.size());
+            entityCounterService.increment(CountedEntity.LOG, batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.error("批量保存操作日志失败: count={}", batch.size(), e);
+        }
+    }
+
+    /**
+     * 为整批日志一次预留ID，避免逐条生成
+     */
+    private void assignIds(List<LogEntity> batch) {
+        SnowflakeIdGenerator.IdBlock ids = null;
+        for (int i = 0; i < batch.size(); i++) {
+            LogEntity logEntity = batch.get(i);
+            if (logEntity.getId() != null) {
+                continue;
+            }
+            if (ids == null || !ids.hasNext()) {
+                ids = snowflakeIdGenerator.reserve(Math.min(batch.size() - i, SnowflakeIdGenerator.MAX_RESERVE));
+            }
+            logEntity.setId(ids.nextId());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.adminplus.audit;
+
+import com.adminplus.repository.LogPartitionRepository;
+import com.adminplus.repository.LogRepository;
+import com.adminplus.service.EntityCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 操作日志分区维护
+ * 预建当月及之后若干个月的分区，超过保留期的月分区整体删除（代替 DELETE）；
+ * sys_log 不是分区表时（如由 Hibernate 自动建表），定时任务按 create_time 分批删除超过保留期的日志
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class LogPartitionManager {
+
+    private final LogPartitionRepository logPartitionRepository;
+    private final LogRepository logRepository;
+    private final EntityCounterService entityCounterService;
+    private final int retentionMonths;
+    private final int premakeMonths;
+    private final int purgeBatchSize;
+    // 分区边界按 UTC 划分，月份也按 UTC 计算
+    private final ZoneId zone = ZoneOffset.UTC;
+
+    public LogPartitionManager(LogPartitionRepository logPartitionRepository,
+                               LogRepository logRepository,
+                               EntityCounterService entityCounterService,
+                               @Value("${audit-log.partition.retention-months:6}") int retentionMonths,
+                               @Value("${audit-log.partition.premake-months:2}") int premakeMonths,
+                               @Value("${audit-log.partition.purge-batch-size:1000}") int purgeBatchSize) {
+        this.logPartitionRepository = logPartitionRepository;
+        this.logRepository = logRepository;
+        this.entityCounterService = entityCounterService;
+        this.retentionMonths = retentionMonths;
+        this.premakeMonths = premakeMonths;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * 启动时维护分区；失败说明新日志将落入默认分区，直接中止启动。
+     * 非分区表的逐行删除耗时较长，只在定时任务中执行
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (logPartitionRepository.isPartitioned()) {
+                createUpcomingPartitions();
+                dropExpiredPartitions();
+            } else {
+                log.warn("sys_log 不是分区表，过期日志将由定时任务按 create_time 分批删除");
+            }
+        } catch (RuntimeException e) {
+            log.error("操作日志分区维护失败", e);
+            throw e;
+        }
+    }
+
+    /**
+     * 执行保留策略：分区表预建分区并删除过期分区，非分区表分批删除过期日志
+     */
+    public void maintain() {
+        if (!logPartitionRepository.isPartitioned()) {
+            log.warn("sys_log 不是分区表，按 create_time 分批删除过期日志");
+            purgeExpiredRows();
+            return;
+        }
+        createUpcomingPartitions();
+        dropExpiredPartitions();
+    }
+
+    /**
+     * 预建当月及之后 premakeMonths 个月的分区
+     *
+     * @return 新建的分区数
+     */
+    public int createUpcomingPartitions() {
+        List<YearMonth> existing = logPartitionRepository.findMonthlyPartitions();
+        YearMonth current = YearMonth.now(zone);
+        int created = 0;
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                int moved = logPartitionRepository.createPartition(month);
+                created++;
+                if (moved > 0) {
+                    log.warn("已创建操作日志分区: {}，并从默认分区移入 {} 行", month, moved);
+                } else {
+                    log.info("已创建操作日志分区: {}", month);
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * 删除超过保留期的月分区（保留当月及之前 retentionMonths 个月）
+     *
+     * @return 删除的分区数
+     */
+    public int dropExpiredPartitions() {
+        YearMonth oldestRetained = YearMonth.now(zone).minusMonths(retentionMonths);
+        int dropped = 0;
+        for (YearMonth month : logPartitionRepository.findMonthlyPartitions()) {
+            if (month.isBefore(oldestRetained)) {
+                logPartitionRepository.dropPartition(month);
+                dropped++;
+                log.info("已删除过期操作日志分区: {}", month);
+            }
+        }
+        if (dropped > 0) {
+            // 删除分区不经过写入路径，需重新校准日志计数
+            entityCounterService.reconcile();
+        }
+        return dropped;
+    }
+
+    /**
+     * 非分区表按 create_time 分批删除超过保留期的日志，截止时间与分区表的保留边界一致
+     *
+     * @return 删除的行数
+     */
+    public int purgeExpiredRows() {
+        Instant cutoff = YearMonth.now(zone).minusMonths(retentionMonths).atDay(1).atStartOfDay(zone).toInstant();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = logRepository.deleteCreatedBeforeBatch(cutoff, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            // 批量删除不经过写入路径，需重新校准日志计数
+            entityCounterService.reconcile();
+        }
+        log.info("已删除过期操作日志: cutoff={}, rows={}", cutoff, purged);
+        return purged;
+    }
+}
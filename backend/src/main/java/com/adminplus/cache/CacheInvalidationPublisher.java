@@ -0,0 +1,25 @@
+package com.adminplus.cache;
+
+/**
+ * 本地缓存失效通知发布者
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public interface CacheInvalidationPublisher {
+
+    /**
+     * 通知其他节点清除本地缓存中的指定键
+     *
+     * @param cacheName 缓存名称
+     * @param key       缓存键
+     */
+    void publishEvict(String cacheName, Object key);
+
+    /**
+     * 通知其他节点清空本地缓存
+     *
+     * @param cacheName 缓存名称
+     */
+    void publishClear(String cacheName);
+}
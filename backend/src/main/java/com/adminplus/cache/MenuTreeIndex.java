@@ -0,0 +1,344 @@
+package com.adminplus.cache;
+
+import com.adminplus.entity.MenuEntity;
+import com.adminplus.entity.RoleMenuEntity;
+import com.adminplus.vo.MenuVO;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 菜单树索引（不可变快照）
+ * 每个菜单分配一个稠密槽位，按 id / parentId 建立索引，树形组装只需一次线性遍历；
+ * 同时为每个角色预计算已授权菜单（含全部父菜单）的槽位位图
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public final class MenuTreeIndex {
+
+    private static final int NO_PARENT = -1;
+
+    /**
+     * 索引版本号
+     */
+    private final long version;
+
+    /**
+     * 槽位 -> 菜单节点（children 为空）
+     */
+    private final List<MenuVO> nodes;
+
+    /**
+     * 菜单ID -> 槽位
+     */
+    private final Map<String, Integer> slotById;
+
+    /**
+     * 槽位 -> 父菜单槽位（根节点或父菜单不存在时为 -1）
+     */
+    private final int[] parentSlots;
+
+    /**
+     * 槽位 -> 子菜单槽位（保持排序顺序）
+     */
+    private final int[][] childSlots;
+
+    /**
+     * 根菜单槽位（保持排序顺序）
+     */
+    private final int[] rootSlots;
+
+    /**
+     * 可见且启用的菜单槽位
+     */
+    private final BitSet visibleEnabled;
+
+    /**
+     * 角色ID -> 已授权菜单槽位（含父菜单，构建后只读）
+     */
+    private final Map<String, BitSet> roleSlots;
+
+    /**
+     * 角色ID -> 直接授权的菜单槽位（不含父菜单，用于解析权限标识符，构建后只读）
+     */
+    private final Map<String, BitSet> roleGrants;
+
+    /**
+     * 完整菜单树（构建时一次性生成）
+     */
+    private final List<MenuVO> tree;
+
+    private MenuTreeIndex(long version, List<MenuVO> nodes, Map<String, Integer> slotById,
+                          int[] parentSlots, int[][] childSlots, int[] rootSlots, BitSet visibleEnabled,
+                          Map<String, BitSet> roleSlots, Map<String, BitSet> roleGrants) {
+        this.version = version;
+        this.nodes = nodes;
+        this.slotById = slotById;
+        this.parentSlots = parentSlots;
+        this.childSlots = childSlots;
+        this.rootSlots = rootSlots;
+        this.visibleEnabled = visibleEnabled;
+        this.roleSlots = roleSlots;
+        this.roleGrants = roleGrants;
+        this.tree = assemble(null);
+    }
+
+    /**
+     * 根据已排序的菜单列表和角色-菜单关联构建索引
+     *
+     * @param version   索引版本号
+     * @param menus     按 sortOrder 排序的全部菜单
+     * @param roleMenus 全部角色-菜单关联
+     * @return 菜单树索引
+     */
+    public static MenuTreeIndex build(long version, List<MenuEntity> menus, List<RoleMenuEntity> roleMenus) {
+        int size = menus.size();
+        List<MenuVO> nodes = new ArrayList<>(size);
+        Map<String, Integer> slotById = HashMap.newHashMap(size);
+        BitSet visibleEnabled = new BitSet(size);
+
+        for (int slot = 0; slot < size; slot++) {
+            MenuEntity menu = menus.get(slot);
+            nodes.add(new MenuVO(
+                    menu.getId(),
+                    menu.getParentId(),
+                    menu.getType(),
+                    menu.getName(),
+                    menu.getPath(),
+                    menu.getComponent(),
+                    menu.getPermKey(),
+                    menu.getIcon(),
+                    menu.getSortOrder(),
+                    menu.getVisible(),
+                    menu.getStatus(),
+                    null,
+                    menu.getCreateTime(),
+                    menu.getUpdateTime()
+            ));
+            slotById.put(menu.getId(), slot);
+            if (Integer.valueOf(1).equals(menu.getVisible()) && Integer.valueOf(1).equals(menu.getStatus())) {
+                visibleEnabled.set(slot);
+            }
+        }
+
+        // 建立父子关系，子节点沿用输入顺序（即 sortOrder 顺序）
+        int[] parentSlots = new int[size];
+        int[] childCounts = new int[size];
+        int rootCount = 0;
+        for (int slot = 0; slot < size; slot++) {
+            String parentId = nodes.get(slot).parentId();
+            if (isRoot(parentId)) {
+                parentSlots[slot] = NO_PARENT;
+                rootCount++;
+            } else {
+                Integer parentSlot = slotById.get(parentId);
+                parentSlots[slot] = parentSlot != null ? parentSlot : NO_PARENT;
+                if (parentSlot != null) {
+                    childCounts[parentSlot]++;
+                }
+            }
+        }
+
+        int[][] childSlots = new int[size][];
+        for (int slot = 0; slot < size; slot++) {
+            childSlots[slot] = new int[childCounts[slot]];
+            childCounts[slot] = 0;
+        }
+        int[] rootSlots = new int[rootCount];
+        rootCount = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (isRoot(nodes.get(slot).parentId())) {
+                rootSlots[rootCount++] = slot;
+            } else if (parentSlots[slot] != NO_PARENT) {
+                int parent = parentSlots[slot];
+                childSlots[parent][childCounts[parent]++] = slot;
+            }
+        }
+
+        // 预计算每个角色的授权槽位，并向上补齐父菜单
+        Map<String, BitSet> roleSlots = new HashMap<>();
+        Map<String, BitSet> roleGrants = new HashMap<>();
+        for (RoleMenuEntity roleMenu : roleMenus) {
+            Integer granted = slotById.get(roleMenu.getMenuId());
+            if (granted == null) {
+                continue;
+            }
+            roleGrants.computeIfAbsent(roleMenu.getRoleId(), k -> new BitSet(size)).set(granted);
+            BitSet slots = roleSlots.computeIfAbsent(roleMenu.getRoleId(), k -> new BitSet(size));
+            int slot = granted;
+            // 遇到已收集的祖先即可停止
+            while (slot != NO_PARENT && !slots.get(slot)) {
+                slots.set(slot);
+                slot = parentSlots[slot];
+            }
+        }
+
+        return new MenuTreeIndex(version, List.copyOf(nodes), Map.copyOf(slotById),
+                parentSlots, childSlots, rootSlots, visibleEnabled, Map.copyOf(roleSlots), Map.copyOf(roleGrants));
+    }
+
+    /**
+     * 判断父菜单ID是否表示根节点
+     */
+    private static boolean isRoot(String parentId) {
+        return parentId == null || parentId.equals("0");
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * 菜单数量（即槽位数量）
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * 根据菜单ID获取槽位，不存在时返回 -1
+     */
+    public int slotOf(String menuId) {
+        Integer slot = menuId == null ? null : slotById.get(menuId);
+        return slot != null ? slot : NO_PARENT;
+    }
+
+    /**
+     * 获取父菜单槽位，根节点返回 -1
+     */
+    public int parentSlot(int slot) {
+        return parentSlots[slot];
+    }
+
+    /**
+     * 获取槽位对应的菜单节点（不含 children）
+     */
+    public MenuVO node(int slot) {
+        return nodes.get(slot);
+    }
+
+    /**
+     * 判断菜单是否存在子菜单
+     */
+    public boolean hasChildren(String menuId) {
+        int slot = slotOf(menuId);
+        return slot != NO_PARENT && childSlots[slot].length > 0;
+    }
+
+    /**
+     * 获取多个角色的已授权菜单槽位并集（含父菜单，返回新的位图）
+     */
+    public BitSet grantedSlots(Collection<String> roleIds) {
+        BitSet result = new BitSet(nodes.size());
+        for (String roleId : roleIds) {
+            BitSet slots = roleSlots.get(roleId);
+            if (slots != null) {
+                result.or(slots);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取多个角色直接授权的权限标识符（去重，按菜单排序）
+     */
+    public List<String> grantedPermissions(Collection<String> roleIds) {
+        BitSet granted = new BitSet(nodes.size());
+        for (String roleId : roleIds) {
+            BitSet slots = roleGrants.get(roleId);
+            if (slots != null) {
+                granted.or(slots);
+            }
+        }
+
+        Set<String> permissions = new LinkedHashSet<>();
+        for (int slot = granted.nextSetBit(0); slot >= 0; slot = granted.nextSetBit(slot + 1)) {
+            String permKey = nodes.get(slot).permKey();
+            if (permKey != null && !permKey.isBlank()) {
+                permissions.add(permKey);
+            }
+        }
+        return new ArrayList<>(permissions);
+    }
+
+    /**
+     * 获取全部菜单节点（按排序顺序，不含 children）
+     */
+    public List<MenuVO> nodes() {
+        return nodes;
+    }
+
+    /**
+     * 在给定位图中只保留可见且启用的菜单槽位
+     */
+    public BitSet retainVisibleEnabled(BitSet slots) {
+        slots.and(visibleEnabled);
+        return slots;
+    }
+
+    /**
+     * 获取完整菜单树
+     */
+    public List<MenuVO> getTree() {
+        return tree;
+    }
+
+    /**
+     * 构建过滤后的菜单树
+     * 节点未被选中时，其整棵子树都不会出现在结果中
+     *
+     * @param include 需要保留的槽位
+     * @return 菜单树
+     */
+    public List<MenuVO> buildTree(BitSet include) {
+        return assemble(include);
+    }
+
+    /**
+     * 从根节点出发线性组装树，每个节点最多访问一次
+     */
+    private List<MenuVO> assemble(BitSet include) {
+        List<MenuVO> roots = new ArrayList<>(rootSlots.length);
+        for (int slot : rootSlots) {
+            if (include == null || include.get(slot)) {
+                roots.add(assembleNode(slot, include));
+            }
+        }
+        return include == null ? List.copyOf(roots) : roots;
+    }
+
+    private MenuVO assembleNode(int slot, BitSet include) {
+        int[] children = childSlots[slot];
+        List<MenuVO> childNodes = new ArrayList<>(children.length);
+        for (int child : children) {
+            if (include == null || include.get(child)) {
+                childNodes.add(assembleNode(child, include));
+            }
+        }
+
+        MenuVO menu = nodes.get(slot);
+        return new MenuVO(
+                menu.id(),
+                menu.parentId(),
+                menu.type(),
+                menu.name(),
+                menu.path(),
+                menu.component(),
+                menu.permKey(),
+                menu.icon(),
+                menu.sortOrder(),
+                menu.visible(),
+                menu.status(),
+                include == null ? List.copyOf(childNodes) : childNodes,
+                menu.createTime(),
+                menu.updateTime()
+        );
+    }
+}
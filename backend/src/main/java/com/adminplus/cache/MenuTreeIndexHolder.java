@@ -0,0 +1,86 @@
+package com.adminplus.cache;
+
+import com.adminplus.repository.MenuRepository;
+import com.adminplus.repository.RoleMenuRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 菜单树索引持有者
+ * 首次读取时构建索引，菜单或角色菜单授权发生变化后使索引失效，下次读取时重建
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuTreeIndexHolder {
+
+    private final MenuRepository menuRepository;
+    private final RoleMenuRepository roleMenuRepository;
+
+    /**
+     * 当前期望的索引版本，每次失效时递增
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 重建锁（使用 ReentrantLock 避免虚拟线程在 synchronized 上被钉住）
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile MenuTreeIndex current;
+
+    /**
+     * 获取最新的菜单树索引
+     */
+    public MenuTreeIndex get() {
+        MenuTreeIndex index = current;
+        if (index != null && index.version() == version.get()) {
+            return index;
+        }
+
+        rebuildLock.lock();
+        try {
+            long expected = version.get();
+            index = current;
+            if (index != null && index.version() == expected) {
+                return index;
+            }
+
+            long start = System.nanoTime();
+            index = MenuTreeIndex.build(expected,
+                    menuRepository.findAllByOrderBySortOrderAsc(),
+                    roleMenuRepository.findAll());
+            current = index;
+            log.debug("菜单树索引已重建: version={}, size={}, cost={}μs",
+                    expected, index.size(), (System.nanoTime() - start) / 1000);
+            return index;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 使索引失效
+     * 处于事务中时，提交后会再次失效，避免并发读取在提交前重建出旧数据
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+}
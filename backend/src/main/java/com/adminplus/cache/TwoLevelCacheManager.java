@@ -0,0 +1,149 @@
+package com.adminplus.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 二级缓存管理器
+ * 在 RedisCacheManager 前增加有界的本地 Caffeine 缓存，并通过 Redis 发布/订阅在节点间同步失效
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, CacheInvalidationPublisher, MessageListener {
+
+    /**
+     * 缓存失效广播频道
+     */
+    public static final String INVALIDATION_CHANNEL = "cache:invalidate";
+
+    // 消息类型：删除指定键 / 清空缓存
+    private static final String TYPE_EVICT = "E";
+    private static final String TYPE_CLEAR = "C";
+
+    // 消息字段分隔符
+    private static final String SEPARATOR = "|";
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long localMaximumSize;
+    private final Duration localExpireAfterWrite;
+    private final boolean transactionAware;
+
+    /**
+     * 当前节点标识，忽略自身发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Cache> decoratedCaches = new ConcurrentHashMap<>();
+
+    private final Counter invalidationsReceived;
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry, long localMaximumSize,
+                                Duration localExpireAfterWrite, boolean transactionAware) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localMaximumSize = localMaximumSize;
+        this.localExpireAfterWrite = localExpireAfterWrite;
+        this.transactionAware = transactionAware;
+        this.invalidationsReceived = Counter.builder("cache.tier.invalidations")
+                .description("收到的其他节点缓存失效通知数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return decoratedCaches.computeIfAbsent(name, key -> {
+            TwoLevelCache cache = caches.computeIfAbsent(key, this::createCache);
+            return transactionAware ? new TransactionAwareCacheDecorator(cache) : cache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remoteCache = redisCacheManager.getCache(name);
+        if (remoteCache == null) {
+            throw new IllegalStateException("无法创建 Redis 缓存: " + name);
+        }
+        var localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localExpireAfterWrite)
+                .build();
+        log.info("创建二级缓存: name={}, localMaximumSize={}, localTtl={}", name, localMaximumSize, localExpireAfterWrite);
+        return new TwoLevelCache(name, localCache, remoteCache, this, meterRegistry);
+    }
+
+    @Override
+    public void publishEvict(String cacheName, Object key) {
+        // 非字符串键无法在节点间可靠还原，退化为清空整个本地缓存
+        if (!(key instanceof String stringKey)) {
+            publishClear(cacheName);
+            return;
+        }
+        publish(String.join(SEPARATOR, TYPE_EVICT, nodeId, cacheName, stringKey));
+    }
+
+    @Override
+    public void publishClear(String cacheName) {
+        publish(String.join(SEPARATOR, TYPE_CLEAR, nodeId, cacheName));
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (Exception e) {
+            // 广播失败时其他节点的本地缓存依靠过期时间兜底
+            log.warn("广播缓存失效消息失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 收到其他节点的缓存失效通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[1])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+
+        invalidationsReceived.increment();
+        if (TYPE_EVICT.equals(parts[0]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        } else {
+            cache.clearLocal();
+        }
+    }
+}
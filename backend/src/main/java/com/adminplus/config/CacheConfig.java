@@ -1,10 +1,15 @@
 package com.adminplus.config;
 
+import com.adminplus.cache.TwoLevelCacheManager;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +18,9 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -29,6 +37,18 @@ import java.time.Duration;
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * 本地缓存（L1）最大条目数（每个缓存）
+     */
+    @Value("${cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    /**
+     * 本地缓存（L1）写入后过期时间，作为跨节点失效通知丢失时的兜底
+     */
+    @Value("${cache.local.expire-after-write:60s}")
+    private Duration localExpireAfterWrite;
+
     /**
      * 配置 RedisTemplate
      */
@@ -61,12 +81,25 @@ public class CacheConfig {
         return template;
     }
 
+    /**
+     * 配置 Redis 消息监听容器（用于跨节点广播失效通知）
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     /**
      * 配置缓存管理器
-     * 使用 RedisCacheManager 作为实现
+     * 本地 Caffeine（L1）+ Redis（L2）二级缓存，节点间通过 Redis 发布/订阅同步失效
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
         // 配置 JSON 序列化
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
@@ -87,9 +120,24 @@ public class CacheConfig {
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer))
                 .disableCachingNullValues(); // 不缓存空值
 
-        return RedisCacheManager.builder(connectionFactory)
+        // 事务感知由二级缓存管理器统一处理
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
-                .transactionAware()
+                // Dashboard 统计数据短期缓存，写操作时主动清除
+                .withCacheConfiguration("dashboardStats", config.entryTtl(Duration.ofMinutes(1)))
                 .build();
+        redisCacheManager.initializeCaches();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                redisCacheManager,
+                stringRedisTemplate,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                localMaximumSize,
+                localExpireAfterWrite,
+                true
+        );
+        redisMessageListenerContainer.addMessageListener(cacheManager,
+                new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return cacheManager;
     }
 }
\ No newline at end of file
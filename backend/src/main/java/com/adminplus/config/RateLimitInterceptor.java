@@ -1,105 +1,140 @@
 package com.adminplus.config;
 
-import lombok.RequiredArgsConstructor;
+import com.adminplus.ratelimit.RateLimitDecision;
+import com.adminplus.ratelimit.RateLimitProperties;
+import com.adminplus.ratelimit.RateLimiter;
+import com.adminplus.utils.SecurityUtils;
+import com.adminplus.utils.WebUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.server.PathContainer;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 /**
  * 限流拦截器
+ * 按 rate-limit.rules 配置的路径规则限流，判定由 {@link RateLimiter} 完成，判定结果导出为监控指标
  *
  * @author AdminPlus
  * @since 2026-02-07
  */
 @Slf4j
 @Configuration
-@RequiredArgsConstructor
 public class RateLimitInterceptor implements HandlerInterceptor {
 
-    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    private final List<CompiledRule> rules;
 
-    // 登录接口限流：5次/分钟
-    private static final int LOGIN_MAX_REQUESTS = 5;
-    private static final int LOGIN_TIME_WINDOW = 60; // 60秒
-
-    // 通用接口限流：100次/分钟
-    private static final int GENERAL_MAX_REQUESTS = 100;
-    private static final int GENERAL_TIME_WINDOW = 60; // 60秒
+    public RateLimitInterceptor(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.enabled = properties.enabled();
+        this.rules = properties.rules().stream()
+                .map(rule -> new CompiledRule(rule, PathPatternParser.defaultInstance.parse(rule.path()), meterRegistry))
+                .toList();
+        log.info("限流规则已加载: enabled={}, rules={}", enabled, properties.rules());
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String uri = request.getRequestURI();
-        String clientIp = getClientIp(request);
+        if (!enabled) {
+            return true;
+        }
 
-        // 登录接口限流
-        if ("/auth/login".equals(uri)) {
-            return checkRateLimit(clientIp, "login", LOGIN_MAX_REQUESTS, LOGIN_TIME_WINDOW, response);
+        PathContainer path = PathContainer.parsePath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        for (CompiledRule rule : rules) {
+            if (rule.pattern().matches(path)) {
+                return checkRateLimit(clientKey(request, rule.config()), rule, response);
+            }
         }
+        return true;
+    }
 
-        // 通用接口限流
-        return checkRateLimit(clientIp, "general", GENERAL_MAX_REQUESTS, GENERAL_TIME_WINDOW, response);
+    /**
+     * 按规则的限流维度确定客户端标识
+     */
+    private static String clientKey(HttpServletRequest request, RateLimitProperties.Rule rule) {
+        if (rule.key() == RateLimitProperties.Key.USER && SecurityUtils.isAuthenticated()) {
+            try {
+                return "user:" + SecurityUtils.getCurrentUserId();
+            } catch (RuntimeException e) {
+                log.debug("无法获取当前用户，按客户端IP限流: rule={}", rule.name());
+            }
+        }
+        return WebUtils.getClientIp(request);
     }
 
     /**
      * 检查请求频率限制
      *
-     * @param clientIp 客户端IP
-     * @param key 限流键
-     * @param maxRequests 最大请求数
-     * @param timeWindow 时间窗口（秒）
+     * @param clientKey 客户端标识（IP 或 user:用户ID）
+     * @param rule 命中的限流规则
      * @param response HTTP响应
      * @return 是否允许通过
      */
-    private boolean checkRateLimit(String clientIp, String key, int maxRequests, int timeWindow,
-                                   HttpServletResponse response) throws IOException {
-        String redisKey = "rate_limit:" + key + ":" + clientIp;
+    private boolean checkRateLimit(String clientKey, CompiledRule rule, HttpServletResponse response) throws IOException {
+        RateLimitProperties.Rule config = rule.config();
+        RateLimitDecision decision;
+        try {
+            decision = rateLimiter.tryAcquire(config.name() + ":" + clientKey, config.capacity(), config.window());
+        } catch (Exception e) {
+            // 限流存储不可用时放行，避免影响正常业务
+            rule.failed().increment();
+            log.warn("限流判定失败，已放行: rule={}, error={}", config.name(), e.getMessage());
+            return true;
+        }
 
-        // 获取当前计数
-        String countStr = redisTemplate.opsForValue().get(redisKey);
-        int count = countStr == null ? 0 : Integer.parseInt(countStr);
+        response.setHeader("X-RateLimit-Limit", String.valueOf(config.capacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
 
-        if (count >= maxRequests) {
+        if (!decision.allowed()) {
             // 超过限流
-            log.warn("限流触发: IP={}, Key={}, Count={}", clientIp, key, count);
+            rule.rejected().increment();
+            log.warn("限流触发: Client={}, Rule={}", clientKey, config.name());
             response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, (decision.retryAfterMillis() + 999) / 1000)));
             response.setContentType("application/json;charset=UTF-8");
             response.getWriter().write("{\"code\":429,\"message\":\"请求过于频繁，请稍后再试\",\"data\":null,\"timestamp\":" + System.currentTimeMillis() + "}");
             return false;
         }
 
-        // 增加计数
-        if (count == 0) {
-            // 第一次请求，设置过期时间
-            redisTemplate.opsForValue().set(redisKey, "1", timeWindow, TimeUnit.SECONDS);
-        } else {
-            // 增加计数
-            redisTemplate.opsForValue().increment(redisKey);
-        }
-
+        rule.allowed().increment();
         return true;
     }
 
     /**
-     * 获取客户端IP
+     * 预编译的限流规则及其监控指标
      */
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
+    private record CompiledRule(
+            RateLimitProperties.Rule config,
+            PathPattern pattern,
+            Counter allowed,
+            Counter rejected,
+            Counter failed
+    ) {
+
+        CompiledRule(RateLimitProperties.Rule config, PathPattern pattern, MeterRegistry meterRegistry) {
+            this(config, pattern,
+                    counter(meterRegistry, config.name(), "allowed"),
+                    counter(meterRegistry, config.name(), "rejected"),
+                    counter(meterRegistry, config.name(), "error"));
         }
-        // 如果有多个IP，取第一个
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
+
+        private static Counter counter(MeterRegistry meterRegistry, String rule, String result) {
+            return Counter.builder("rate.limit.decisions")
+                    .description("限流判定结果")
+                    .tag("rule", rule)
+                    .tag("result", result)
+                    .register(meterRegistry);
         }
-        return ip;
     }
-}
\ No newline at end of file
+}
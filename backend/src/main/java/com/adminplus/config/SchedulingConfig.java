@@ -0,0 +1,29 @@
+package com.adminplus.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+
+/**
+ * 定时任务配置
+ * 每次触发都在新的虚拟线程中执行，耗时较长的维护任务不会占用平台线程或阻塞其他任务
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public SimpleAsyncTaskScheduler taskScheduler() {
+        log.info("初始化虚拟线程定时任务调度器");
+        SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+        scheduler.setVirtualThreads(true);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+}
@@ -1,6 +1,13 @@
 package com.adminplus.config;
 
-import com.adminplus.filter.TokenBlacklistFilter;
+import com.adminplus.security.BCryptStrengthCalibrator;
+import com.adminplus.security.CustomUserDetailsService;
+import com.adminplus.security.PermissionAuthoritiesConverter;
+import com.adminplus.security.PermissionSnapshotService;
+import com.adminplus.security.PooledPasswordEncoder;
+import com.adminplus.security.TokenRevocationValidator;
+import com.adminplus.security.UserDetailsCache;
+import com.adminplus.service.TokenBlacklistService;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
@@ -8,21 +15,29 @@ import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
@@ -32,9 +47,10 @@ import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import java.util.Map;
 
 /**
  * Spring Security 配置
@@ -47,17 +63,24 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // 密码哈希前缀中的编码器标识
+    private static final String BCRYPT_ID = "bcrypt";
+
     @Value("${jwt.secret:}")
     private String jwtSecret;
 
     @Value("${spring.cors.allowed-origins:http://localhost:5173,http://localhost:3000}")
     private String corsAllowedOrigins;
 
-    private final TokenBlacklistFilter tokenBlacklistFilter;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final PermissionSnapshotService permissionSnapshotService;
     private final Environment env;
 
-    public SecurityConfig(TokenBlacklistFilter tokenBlacklistFilter, Environment env) {
-        this.tokenBlacklistFilter = tokenBlacklistFilter;
+    public SecurityConfig(TokenBlacklistService tokenBlacklistService,
+                          PermissionSnapshotService permissionSnapshotService,
+                          Environment env) {
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.permissionSnapshotService = permissionSnapshotService;
         this.env = env;
     }
 
@@ -136,11 +159,16 @@ public class SecurityConfig {
 
     /**
      * JWT 解码器（用于验证 Token）
+     * 默认校验之外追加撤销校验（jti 黑名单 + 用户撤销时间点）
      */
     @Bean
     public JwtDecoder jwtDecoder(RSAKey rsaKey) {
         try {
-            return NimbusJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build();
+            NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build();
+            decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                    JwtValidators.createDefault(),
+                    new TokenRevocationValidator(tokenBlacklistService)));
+            return decoder;
         } catch (JOSEException e) {
             throw new RuntimeException("Failed to create JWT decoder", e);
         }
@@ -148,10 +176,44 @@ public class SecurityConfig {
 
     /**
      * 密码编码器
+     * 新密码以 {bcrypt} 前缀存储，强度为 0 时由第一个启动的节点按 target-latency 校准并通过 Redis 共享给所有节点；
+     * 没有前缀的历史哈希仍按 BCrypt 校验，并在登录成功后升级。
+     * BCrypt 计算在独立的有界线程池中执行，pool-size 为 0 时取 CPU 核数
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PooledPasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:0}") int bcryptStrength,
+                                                 @Value("${security.password.target-latency:50ms}") Duration targetLatency,
+                                                 @Value("${security.password.pool-size:0}") int poolSize,
+                                                 @Value("${security.password.queue-capacity:200}") int queueCapacity,
+                                                 StringRedisTemplate redisTemplate,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BCryptStrengthCalibrator.calibrateShared(redisTemplate, targetLatency);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        log.info("密码编码器: bcryptStrength={}, threads={}, queueCapacity={}", strength, threads, queueCapacity);
+        return new PooledPasswordEncoder(delegating, threads, queueCapacity,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * 认证提供者
+     * 重复登录时从缓存中获取用户详情，只需校验密码；登录成功后将强度不足或格式过时的密码哈希重新编码
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public DaoAuthenticationProvider authenticationProvider(CustomUserDetailsService userDetailsService,
+                                                            PasswordEncoder passwordEncoder,
+                                                            UserDetailsCache userDetailsCache) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserCache(userDetailsCache);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        return provider;
     }
 
     /**
@@ -164,6 +226,7 @@ public class SecurityConfig {
 
     /**
      * JWT 权限转换器
+     * scope 角色 + 根据 Token 中的权限快照展开的菜单权限（不访问数据库）
      */
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
@@ -172,7 +235,8 @@ public class SecurityConfig {
         grantedAuthoritiesConverter.setAuthoritiesClaimName("scope");
 
         var jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(grantedAuthoritiesConverter);
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(
+                new PermissionAuthoritiesConverter(grantedAuthoritiesConverter, permissionSnapshotService));
         return jwtAuthenticationConverter;
     }
 
@@ -210,7 +274,6 @@ public class SecurityConfig {
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
                 )
-                .addFilterBefore(tokenBlacklistFilter, UsernamePasswordAuthenticationFilter.class)
                 // 配置 CORS - 限制跨域访问
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 // 添加安全头
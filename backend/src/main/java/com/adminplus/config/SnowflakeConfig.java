@@ -0,0 +1,24 @@
+package com.adminplus.config;
+
+import com.adminplus.util.SnowflakeIdGenerator;
+import com.adminplus.util.SnowflakeNodeLease;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 雪花ID生成器配置
+ * 节点ID由 Redis 租约分配，租约的节点ID和有效期同步给生成器，租约失效后生成器拒绝生成ID
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Configuration
+public class SnowflakeConfig {
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(SnowflakeNodeLease snowflakeNodeLease) {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(snowflakeNodeLease.getNodeId());
+        snowflakeNodeLease.onLeaseChanged(generator::lease);
+        return generator;
+    }
+}
@@ -24,9 +24,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        // 注册限流拦截器
+        // 注册限流拦截器（具体限流路径由 rate-limit.rules 配置）
         registry.addInterceptor(rateLimitInterceptor)
-                .addPathPatterns("/auth/**")  // 只对认证接口限流
+                .addPathPatterns("/**")
                 .order(1);
     }
 
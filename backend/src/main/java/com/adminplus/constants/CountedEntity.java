@@ -0,0 +1,43 @@
+package com.adminplus.constants;
+
+/**
+ * 维护计数的实体类型
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public enum CountedEntity {
+
+    /**
+     * 用户
+     */
+    USER("user"),
+
+    /**
+     * 角色
+     */
+    ROLE("role"),
+
+    /**
+     * 菜单
+     */
+    MENU("menu"),
+
+    /**
+     * 操作日志
+     */
+    LOG("log");
+
+    private final String field;
+
+    CountedEntity(String field) {
+        this.field = field;
+    }
+
+    /**
+     * Redis 哈希中的字段名
+     */
+    public String field() {
+        return field;
+    }
+}
@@ -0,0 +1,37 @@
+package com.adminplus.constants;
+
+/**
+ * 导出任务状态
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public enum ExportJobStatus {
+
+    /**
+     * 等待执行
+     */
+    PENDING,
+
+    /**
+     * 执行中
+     */
+    RUNNING,
+
+    /**
+     * 已完成，可下载
+     */
+    SUCCESS,
+
+    /**
+     * 执行失败
+     */
+    FAILED;
+
+    /**
+     * 是否仍在占用导出名额
+     */
+    public boolean isActive() {
+        return this == PENDING || this == RUNNING;
+    }
+}
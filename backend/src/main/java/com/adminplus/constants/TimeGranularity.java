@@ -0,0 +1,80 @@
+package com.adminplus.constants;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 时间序列统计粒度
+ * sqlUnit 与 PostgreSQL date_trunc 的单位一致，周以周一为起点
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public enum TimeGranularity {
+
+    /**
+     * 按小时
+     */
+    HOUR("hour", ChronoUnit.HOURS, "MM-dd HH:00"),
+
+    /**
+     * 按天
+     */
+    DAY("day", ChronoUnit.DAYS, "MM-dd"),
+
+    /**
+     * 按周
+     */
+    WEEK("week", ChronoUnit.WEEKS, "MM-dd"),
+
+    /**
+     * 按月
+     */
+    MONTH("month", ChronoUnit.MONTHS, "yyyy-MM");
+
+    private final String sqlUnit;
+    private final ChronoUnit unit;
+    private final DateTimeFormatter labelFormatter;
+
+    TimeGranularity(String sqlUnit, ChronoUnit unit, String labelPattern) {
+        this.sqlUnit = sqlUnit;
+        this.unit = unit;
+        this.labelFormatter = DateTimeFormatter.ofPattern(labelPattern);
+    }
+
+    /**
+     * date_trunc 单位
+     */
+    public String sqlUnit() {
+        return sqlUnit;
+    }
+
+    /**
+     * 截断到所在时间桶的起点（与 date_trunc 结果一致）
+     */
+    public LocalDateTime truncate(LocalDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * 下一个时间桶的起点
+     */
+    public LocalDateTime next(LocalDateTime bucket) {
+        return bucket.plus(1, unit);
+    }
+
+    /**
+     * 时间桶的显示标签
+     */
+    public String format(LocalDateTime bucket) {
+        return bucket.format(labelFormatter);
+    }
+}
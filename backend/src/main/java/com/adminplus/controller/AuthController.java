@@ -6,6 +6,7 @@ import com.adminplus.service.AuthService;
 import com.adminplus.utils.ApiResponse;
 import com.adminplus.utils.SecurityUtils;
 import com.adminplus.vo.LoginResp;
+import com.adminplus.vo.TokenRefreshResp;
 import com.adminplus.vo.UserVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -70,11 +71,18 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    @Operation(summary = "刷新 Access Token")
+    @Operation(summary = "刷新 Access Token", description = "同时返回轮换后的 Refresh Token，原 Refresh Token 随即失效")
     @PreAuthorize("isAuthenticated()")
-    public ApiResponse<String> refreshAccessToken(@RequestBody RefreshTokenReq req) {
-        String newToken = authService.refreshAccessToken(req.refreshToken());
-        return ApiResponse.ok(newToken);
+    public ApiResponse<TokenRefreshResp> refreshAccessToken(@RequestBody RefreshTokenReq req) {
+        TokenRefreshResp resp = authService.refreshAccessToken(req.refreshToken());
+        return ApiResponse.ok(resp);
+    }
+
+    @PostMapping("/heartbeat")
+    @Operation(summary = "在线心跳", description = "返回当前会话是否仍然在线")
+    @PreAuthorize("isAuthenticated()")
+    public ApiResponse<Boolean> heartbeat() {
+        return ApiResponse.ok(authService.heartbeat());
     }
 
     /**
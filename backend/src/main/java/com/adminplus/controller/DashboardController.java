@@ -1,5 +1,7 @@
 package com.adminplus.controller;
 
+import com.adminplus.constants.TimeGranularity;
+import com.adminplus.service.DashboardOverviewService;
 import com.adminplus.service.DashboardService;
 import com.adminplus.utils.ApiResponse;
 import com.adminplus.vo.*;
@@ -9,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -27,6 +30,18 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardOverviewService dashboardOverviewService;
+
+    @GetMapping("/overview")
+    @Operation(summary = "获取 Dashboard 概览", description = "并发加载所有组件，超时或失败的组件返回 null")
+    public ApiResponse<DashboardOverviewVO> getOverview() {
+        log.info("获取 Dashboard 概览");
+        DashboardOverviewVO overview = dashboardOverviewService.getOverview();
+        if (!overview.unavailableWidgets().isEmpty()) {
+            log.warn("Dashboard 概览部分组件不可用: {}", overview.unavailableWidgets());
+        }
+        return ApiResponse.ok(overview);
+    }
 
     @GetMapping("/stats")
     @Operation(summary = "获取统计数据")
@@ -38,10 +53,12 @@ public class DashboardController {
 
     @GetMapping("/user-growth")
     @Operation(summary = "获取用户增长趋势")
-    public ApiResponse<ChartDataVO> getUserGrowth() {
-        log.info("获取用户增长趋势数据 - 开始");
+    public ApiResponse<ChartDataVO> getUserGrowth(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "DAY") TimeGranularity granularity) {
+        log.info("获取用户增长趋势数据 - 开始, days={}, granularity={}", days, granularity);
         try {
-            ChartDataVO data = dashboardService.getUserGrowthData();
+            ChartDataVO data = dashboardService.getUserGrowthData(days, granularity);
             log.info("获取用户增长趋势数据 - 成功, labels: {}, values: {}",
                      data.labels(), data.values());
             return ApiResponse.ok(data);
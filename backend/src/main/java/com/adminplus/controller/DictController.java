@@ -2,6 +2,7 @@ package com.adminplus.controller;
 
 import com.adminplus.dto.DictCreateReq;
 import com.adminplus.dto.DictUpdateReq;
+import com.adminplus.dto.PageQuery;
 import com.adminplus.service.DictService;
 import com.adminplus.utils.ApiResponse;
 import com.adminplus.vo.DictItemVO;
@@ -38,9 +39,11 @@ public class DictController {
     public ApiResponse<PageResultVO<DictVO>> getDictList(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean withTotal,
             @RequestParam(required = false) String keyword
     ) {
-        PageResultVO<DictVO> result = dictService.getDictList(page, size, keyword);
+        PageResultVO<DictVO> result = dictService.getDictList(new PageQuery(page, size, cursor, withTotal), keyword);
         return ApiResponse.ok(result);
     }
 
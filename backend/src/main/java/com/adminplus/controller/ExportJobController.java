@@ -0,0 +1,53 @@
+package com.adminplus.controller;
+
+import com.adminplus.service.ExportJobService;
+import com.adminplus.utils.ApiResponse;
+import com.adminplus.vo.ExportJobVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 导出任务控制器
+ * 各模块提交导出任务后，通过本接口查询进度和下载结果
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/sys/export-jobs")
+@RequiredArgsConstructor
+@Tag(name = "导出任务", description = "导出任务进度查询和下载")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    @GetMapping
+    @Operation(summary = "查询当前用户的导出任务")
+    public ApiResponse<List<ExportJobVO>> listJobs() {
+        return ApiResponse.ok(exportJobService.listJobs());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "查询导出任务进度")
+    public ApiResponse<ExportJobVO> getJob(@PathVariable String id) {
+        return ApiResponse.ok(exportJobService.getJob(id));
+    }
+
+    @GetMapping("/{id}/download")
+    @Operation(summary = "下载导出文件")
+    public void download(@PathVariable String id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        exportJobService.download(id, request, response);
+    }
+}
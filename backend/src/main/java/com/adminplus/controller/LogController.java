@@ -0,0 +1,60 @@
+package com.adminplus.controller;
+
+import com.adminplus.dto.LogQueryReq;
+import com.adminplus.dto.PageQuery;
+import com.adminplus.service.ExportJobService;
+import com.adminplus.service.LogService;
+import com.adminplus.utils.ApiResponse;
+import com.adminplus.utils.SecurityUtils;
+import com.adminplus.vo.ExportJobVO;
+import com.adminplus.vo.OperationLogVO;
+import com.adminplus.vo.PageResultVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 操作日志控制器
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/sys/logs")
+@RequiredArgsConstructor
+@Tag(name = "操作日志", description = "操作日志查询和导出")
+public class LogController {
+
+    private final LogService logService;
+    private final ExportJobService exportJobService;
+
+    @GetMapping
+    @Operation(summary = "分页查询操作日志", description = "传 cursor 参数（首页为空字符串）使用游标分页")
+    @PreAuthorize("hasAuthority('log:query')")
+    public ApiResponse<PageResultVO<OperationLogVO>> getLogList(
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean withTotal,
+            @ModelAttribute LogQueryReq queryReq
+    ) {
+        PageResultVO<OperationLogVO> result = logService.getLogList(
+                new PageQuery(page, size, cursor, withTotal), queryReq);
+        return ApiResponse.ok(result);
+    }
+
+    @PostMapping("/export-jobs")
+    @Operation(summary = "提交操作日志导出任务", description = "后台导出，通过导出任务接口查询进度并下载")
+    @PreAuthorize("hasAuthority('log:export')")
+    public ApiResponse<ExportJobVO> submitExportJob(@ModelAttribute LogQueryReq queryReq) {
+        // 导出在后台线程执行，没有安全上下文，提交时校验权限
+        SecurityUtils.requireAuthority("log:export");
+        ExportJobVO job = exportJobService.submit("操作日志",
+                (out, progress) -> logService.exportLogs(out, queryReq, progress));
+        return ApiResponse.ok(job);
+    }
+}
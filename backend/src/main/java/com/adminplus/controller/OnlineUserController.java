@@ -0,0 +1,51 @@
+package com.adminplus.controller;
+
+import com.adminplus.service.OnlineUserService;
+import com.adminplus.utils.ApiResponse;
+import com.adminplus.vo.OnlineUserVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 在线用户控制器
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/sys/online-users")
+@RequiredArgsConstructor
+@Tag(name = "在线用户", description = "在线会话查询和强制下线")
+public class OnlineUserController {
+
+    private final OnlineUserService onlineUserService;
+
+    @GetMapping
+    @Operation(summary = "查询在线用户", description = "按最后活跃时间倒序")
+    @PreAuthorize("hasAuthority('online:query')")
+    public ApiResponse<List<OnlineUserVO>> getOnlineUsers(@RequestParam(defaultValue = "100") int limit) {
+        return ApiResponse.ok(onlineUserService.getOnlineUsers(limit));
+    }
+
+    @GetMapping("/count")
+    @Operation(summary = "统计在线会话数")
+    @PreAuthorize("hasAuthority('online:query')")
+    public ApiResponse<Long> countOnlineUsers() {
+        return ApiResponse.ok(onlineUserService.countOnlineUsers());
+    }
+
+    @DeleteMapping("/{userId}")
+    @Operation(summary = "强制用户下线")
+    @PreAuthorize("hasAuthority('online:logout')")
+    public ApiResponse<Integer> forceLogout(@PathVariable String userId) {
+        log.info("强制用户下线: {}", userId);
+        return ApiResponse.ok(onlineUserService.forceLogout(userId));
+    }
+}
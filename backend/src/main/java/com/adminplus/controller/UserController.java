@@ -1,19 +1,30 @@
 package com.adminplus.controller;
 
+import com.adminplus.dto.PageQuery;
 import com.adminplus.dto.UserCreateReq;
+import com.adminplus.dto.UserQueryReq;
 import com.adminplus.dto.UserUpdateReq;
+import com.adminplus.excel.ExcelImportResult;
+import com.adminplus.service.ExportJobService;
 import com.adminplus.service.UserService;
 import com.adminplus.utils.ApiResponse;
+import com.adminplus.utils.ExcelUtils;
+import com.adminplus.vo.ExportJobVO;
 import com.adminplus.vo.UserVO;
 import com.adminplus.vo.PageResultVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -30,6 +41,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ExportJobService exportJobService;
 
     @GetMapping
     @Operation(summary = "分页查询用户列表")
@@ -37,9 +49,44 @@ public class UserController {
     public ApiResponse<PageResultVO<UserVO>> getUserList(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
-            @RequestParam(required = false) String keyword
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean withTotal,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
     ) {
-        PageResultVO<UserVO> result = userService.getUserList(page, size, keyword);
+        PageResultVO<UserVO> result = userService.getUserList(
+                new PageQuery(page, size, cursor, withTotal),
+                new UserQueryReq(keyword, status, startDate, endDate));
+        return ApiResponse.ok(result);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "导出用户列表")
+    @PreAuthorize("hasAuthority('user:export')")
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        ExcelUtils.prepareResponse(response, "用户列表");
+        userService.exportUsers(response.getOutputStream());
+    }
+
+    @PostMapping("/export-jobs")
+    @Operation(summary = "提交用户导出任务", description = "后台导出，通过导出任务接口查询进度并下载")
+    @PreAuthorize("hasAuthority('user:export')")
+    public ApiResponse<ExportJobVO> submitExportJob() {
+        ExportJobVO job = exportJobService.submit("用户列表", userService::exportUsers);
+        return ApiResponse.ok(job);
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "导入用户", description = "文件、初始密码和可选的角色ID均以 multipart 表单字段提交，初始密码不会出现在 URL 中")
+    @PreAuthorize("hasAuthority('user:import')")
+    public ApiResponse<ExcelImportResult> importUsers(
+            @RequestPart("file") MultipartFile file,
+            @RequestPart("initialPassword") String initialPassword,
+            @RequestPart(value = "roleId", required = false) String roleId
+    ) throws IOException {
+        ExcelImportResult result = userService.importUsers(file, initialPassword, roleId);
         return ApiResponse.ok(result);
     }
 
@@ -0,0 +1,50 @@
+package com.adminplus.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * 操作日志筛选条件
+ *
+ * @param userId        操作人ID
+ * @param username      操作人用户名（精确匹配）
+ * @param module        操作模块
+ * @param operationType 操作类型
+ * @param status        状态（1=成功，0=失败）
+ * @param startDate     操作日期起（包含）
+ * @param endDate       操作日期止（包含）
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record LogQueryReq(
+        String userId,
+        String username,
+        String module,
+        Integer operationType,
+        Integer status,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate startDate,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate endDate
+) {
+
+    public LogQueryReq {
+        userId = blankToNull(userId);
+        username = blankToNull(username);
+        module = blankToNull(module);
+    }
+
+    /**
+     * 是否包含筛选条件
+     */
+    public boolean hasFilter() {
+        return userId != null || username != null || module != null || operationType != null
+                || status != null || startDate != null || endDate != null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
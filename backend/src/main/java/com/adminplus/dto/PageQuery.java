@@ -0,0 +1,47 @@
+package com.adminplus.dto;
+
+/**
+ * 分页查询参数
+ * 不传 cursor 时按页码分页（返回精确总数）；传 cursor 时按游标分页（首页传空字符串），
+ * 每页的查询代价与页码无关，总数默认不精确统计
+ *
+ * @param page      页码（从 1 开始，仅页码分页使用）
+ * @param size      每页大小
+ * @param cursor    游标（上一页返回的 nextCursor）
+ * @param withTotal 游标分页时是否精确统计总数，默认不统计（无筛选条件时返回估算值）
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record PageQuery(
+        Integer page,
+        Integer size,
+        String cursor,
+        Boolean withTotal
+) {
+
+    /**
+     * 默认每页大小
+     */
+    public static final int DEFAULT_SIZE = 10;
+
+    /**
+     * 每页最大条数
+     */
+    public static final int MAX_SIZE = 500;
+
+    public PageQuery {
+        page = page == null || page < 1 ? 1 : page;
+        size = size == null || size < 1 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+    }
+
+    public PageQuery(Integer page, Integer size) {
+        this(page, size, null, null);
+    }
+
+    /**
+     * 是否使用游标分页
+     */
+    public boolean isKeyset() {
+        return cursor != null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.adminplus.dto;
+
+import com.adminplus.excel.ExcelColumn;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 用户导入行
+ * 表头与用户导出一致，导出文件可直接修改后导入
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record UserImportRow(
+        @ExcelColumn("用户名")
+        @NotBlank(message = "用户名不能为空")
+        @Size(max = 50, message = "用户名长度不能超过50")
+        String username,
+
+        @ExcelColumn("昵称")
+        @Size(max = 50, message = "昵称长度不能超过50")
+        String nickname,
+
+        @ExcelColumn("邮箱")
+        @Email(message = "邮箱格式不正确")
+        @Size(max = 100, message = "邮箱长度不能超过100")
+        String email,
+
+        @ExcelColumn("手机号")
+        @Pattern(regexp = "^1[3-9]\\d{9}$", message = "手机号格式不正确")
+        String phone
+) {
+}
@@ -0,0 +1,32 @@
+package com.adminplus.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 用户列表筛选条件
+ *
+ * @param keyword   关键字（匹配用户名、昵称、邮箱、手机号，不区分大小写）
+ * @param status    用户状态
+ * @param startDate 创建日期起（包含）
+ * @param endDate   创建日期止（包含）
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record UserQueryReq(
+        String keyword,
+        Integer status,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+
+    public UserQueryReq {
+        keyword = keyword == null || keyword.isBlank() ? null : keyword.trim();
+    }
+
+    /**
+     * 是否包含筛选条件
+     */
+    public boolean hasFilter() {
+        return keyword != null || status != null || startDate != null || endDate != null;
+    }
+}
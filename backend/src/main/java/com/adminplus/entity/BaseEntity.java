@@ -1,16 +1,20 @@
 package com.adminplus.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import com.adminplus.listener.EntityAuditListener;
 
 /**
  * 基础实体类
+ * 是否为新实体按是否已持久化或从数据库加载判断，预先分配了ID的新实体保存时直接 INSERT，不会先 SELECT 再合并；
+ * 创建和更新时间由 {@link EntityAuditListener} 设置，保存前已赋值的创建时间保持不变
  *
  * @author AdminPlus
  * @since 2026-02-06
@@ -19,16 +23,14 @@ import com.adminplus.listener.EntityAuditListener;
 @EqualsAndHashCode(callSuper = false)
 @MappedSuperclass
 @EntityListeners(EntityAuditListener.class)
-public abstract class BaseEntity {
+public abstract class BaseEntity implements Persistable<String> {
 
     @Id
     private String id;
 
-    @CreationTimestamp
     @Column(name = "create_time", nullable = false, updatable = false)
     private Instant createTime;
 
-    @UpdateTimestamp
     @Column(name = "update_time", nullable = false)
     private Instant updateTime;
 
@@ -46,4 +48,21 @@ public abstract class BaseEntity {
 
     @Column(name = "deleted", nullable = false)
     private Boolean deleted = false;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
 }
\ No newline at end of file
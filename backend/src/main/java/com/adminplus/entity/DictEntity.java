@@ -18,7 +18,8 @@ import lombok.Setter;
        indexes = {
            @Index(name = "idx_dict_type", columnList = "dict_type"),
            @Index(name = "idx_status", columnList = "status"),
-           @Index(name = "idx_deleted", columnList = "deleted")
+           @Index(name = "idx_deleted", columnList = "deleted"),
+           @Index(name = "idx_dict_create_time", columnList = "create_time, id")
        })
 public class DictEntity extends BaseEntity {
 
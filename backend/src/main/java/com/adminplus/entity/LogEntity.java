@@ -13,7 +13,12 @@ import lombok.EqualsAndHashCode;
 @Data
 @EqualsAndHashCode(callSuper = false)
 @Entity
-@Table(name = "sys_log")
+@Table(name = "sys_log",
+       indexes = {
+           @Index(name = "idx_log_create_time", columnList = "create_time, id"),
+           @Index(name = "idx_log_user_time", columnList = "user_id, create_time"),
+           @Index(name = "idx_log_module_time", columnList = "module, create_time")
+       })
 public class LogEntity extends BaseEntity {
 
     /**
@@ -37,6 +37,9 @@ public class RefreshTokenEntity {
     @Column(name = "token", nullable = false, unique = true, length = 255)
     private String token;
 
+    @Column(name = "session_jti", length = 64)
+    private String sessionJti;
+
     @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
 
@@ -44,6 +47,18 @@ public class RefreshTokenEntity {
     @Builder.Default
     private Boolean revoked = false;
 
+    /**
+     * 轮换时间（未轮换时为 null）
+     */
+    @Column(name = "rotated_at")
+    private Instant rotatedAt;
+
+    /**
+     * 轮换时签发的新 Token
+     */
+    @Column(name = "replaced_by", length = 255)
+    private String replacedBy;
+
     @CreationTimestamp
     @Column(name = "create_time", nullable = false, updatable = false)
     private Instant createTime;
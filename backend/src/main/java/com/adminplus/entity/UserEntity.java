@@ -26,7 +26,8 @@ import java.util.Map;
            @Index(name = "idx_email", columnList = "email"),
            @Index(name = "idx_phone", columnList = "phone"),
            @Index(name = "idx_status", columnList = "status"),
-           @Index(name = "idx_deleted", columnList = "deleted")
+           @Index(name = "idx_deleted", columnList = "deleted"),
+           @Index(name = "idx_user_create_time", columnList = "create_time, id")
        })
 public class UserEntity extends BaseEntity {
 
@@ -0,0 +1,22 @@
+package com.adminplus.excel;
+
+import java.util.List;
+
+/**
+ * 导入批次处理器
+ * 每攒满一批数据调用一次，返回本批中被拒绝的行；抛出异常时整批视为失败
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface ExcelBatchSink<T> {
+
+    /**
+     * 处理一批数据
+     *
+     * @param rows 本批数据行
+     * @return 被拒绝的行，全部成功时返回空列表
+     */
+    List<ExcelRowError> accept(List<ExcelRow<T>> rows);
+}
@@ -0,0 +1,29 @@
+package com.adminplus.excel;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Excel 列定义
+ * 标注在字段（或 record 组件）上，列顺序与字段声明顺序一致；
+ * 类中存在任意标注时只导出标注的字段，否则导出全部字段并以字段名作为表头
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExcelColumn {
+
+    /**
+     * 表头名称
+     */
+    String value();
+
+    /**
+     * 列宽（字符数），0 表示使用默认列宽
+     */
+    int width() default 0;
+}
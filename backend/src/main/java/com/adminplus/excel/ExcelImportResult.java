@@ -0,0 +1,21 @@
+package com.adminplus.excel;
+
+import java.util.List;
+
+/**
+ * Excel 导入结果
+ *
+ * @param totalRows   数据总行数（不含表头和空行）
+ * @param successRows 成功行数
+ * @param failedRows  失败行数
+ * @param errors      失败明细（最多保留前 {@link StreamingExcelReader#MAX_ERROR_DETAILS} 条）
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record ExcelImportResult(
+        long totalRows,
+        long successRows,
+        long failedRows,
+        List<ExcelRowError> errors
+) {
+}
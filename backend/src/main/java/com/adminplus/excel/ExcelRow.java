@@ -0,0 +1,12 @@
+package com.adminplus.excel;
+
+/**
+ * 导入的数据行
+ *
+ * @param rowNumber Excel 行号（从 1 开始，与表格中显示的行号一致）
+ * @param value     解析后的数据
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record ExcelRow<T>(int rowNumber, T value) {
+}
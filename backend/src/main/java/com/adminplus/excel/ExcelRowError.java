@@ -0,0 +1,12 @@
+package com.adminplus.excel;
+
+/**
+ * 导入失败的行
+ *
+ * @param rowNumber Excel 行号（从 1 开始）
+ * @param message   失败原因
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record ExcelRowError(int rowNumber, String message) {
+}
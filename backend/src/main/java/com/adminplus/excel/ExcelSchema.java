@@ -0,0 +1,296 @@
+package com.adminplus.excel;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Excel 列映射
+ * 每个类只解析一次（按类缓存），读取器和写入器优先通过 LambdaMetafactory 编译为函数对象，
+ * 无法编译时退化为 MethodHandle 调用，导入导出时不再逐个单元格反射；
+ * record 通过规范构造器创建，普通类通过无参构造器 + setter 创建
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public final class ExcelSchema<T> {
+
+    private static final ClassValue<ExcelSchema<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected ExcelSchema<?> computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final List<Column<T>> columns;
+    private final int fieldCount;
+    private final MethodHandle constructor;
+
+    private ExcelSchema(Class<T> type, List<Column<T>> columns, int fieldCount, MethodHandle constructor) {
+        this.type = type;
+        this.columns = List.copyOf(columns);
+        this.fieldCount = fieldCount;
+        this.constructor = constructor;
+    }
+
+    /**
+     * 获取类的列映射
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ExcelSchema<T> of(Class<T> type) {
+        return (ExcelSchema<T>) CACHE.get(type);
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    public List<Column<T>> columns() {
+        return columns;
+    }
+
+    /**
+     * 根据各列的值创建实例（values 下标与 columns 一致，已转换为字段类型）
+     */
+    @SuppressWarnings("unchecked")
+    public T newInstance(Object[] values) {
+        if (constructor == null) {
+            throw new IllegalStateException("类不支持导入（缺少无参构造器或规范构造器）: " + type.getName());
+        }
+        try {
+            if (type.isRecord()) {
+                Object[] args = new Object[fieldCount];
+                for (int i = 0; i < columns.size(); i++) {
+                    args[columns.get(i).fieldIndex()] = values[i];
+                }
+                RecordComponent[] components = type.getRecordComponents();
+                for (int i = 0; i < args.length; i++) {
+                    if (args[i] == null && components[i].getType().isPrimitive()) {
+                        args[i] = ExcelValueConverter.defaultValue(components[i].getType());
+                    }
+                }
+                return (T) constructor.invokeExact(args);
+            }
+
+            T instance = (T) constructor.invokeExact();
+            for (int i = 0; i < columns.size(); i++) {
+                Column<T> column = columns.get(i);
+                if (values[i] != null && column.setter() != null) {
+                    column.setter().accept(instance, values[i]);
+                }
+            }
+            return instance;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("创建实例失败: " + type.getName(), e);
+        }
+    }
+
+    /**
+     * 列定义
+     *
+     * @param name       字段名
+     * @param header     表头名称
+     * @param width      列宽（字符数），0 表示默认
+     * @param type       字段类型
+     * @param fieldIndex 字段在类中的声明位置（record 构造器参数位置）
+     * @param getter     字段读取器
+     * @param setter     字段写入器（record 或只读字段为 null）
+     */
+    public record Column<T>(
+            String name,
+            String header,
+            int width,
+            Class<?> type,
+            int fieldIndex,
+            Function<T, Object> getter,
+            BiConsumer<T, Object> setter
+    ) {
+    }
+
+    private static <T> ExcelSchema<T> compile(Class<T> type) {
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问类: " + type.getName(), e);
+        }
+
+        List<Field> fields = Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                .toList();
+        boolean annotated = fields.stream().anyMatch(field -> field.isAnnotationPresent(ExcelColumn.class));
+
+        List<Column<T>> columns = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+            if (annotated && column == null) {
+                continue;
+            }
+            columns.add(new Column<>(
+                    field.getName(),
+                    column != null ? column.value() : field.getName(),
+                    column != null ? column.width() : 0,
+                    field.getType(),
+                    i,
+                    compileGetter(lookup, type, field),
+                    type.isRecord() ? null : compileSetter(lookup, type, field)
+            ));
+        }
+        return new ExcelSchema<>(type, columns, fields.size(), compileConstructor(lookup, type));
+    }
+
+    /**
+     * 编译字段读取器：record 访问器 / getter / isXxx，均不存在时直接读取字段
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Function<T, Object> compileGetter(MethodHandles.Lookup lookup, Class<T> type, Field field) {
+        try {
+            Method accessor = findAccessor(type, field);
+            if (accessor != null) {
+                MethodHandle handle = lookup.unreflect(accessor);
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(
+                            lookup,
+                            "apply",
+                            MethodType.methodType(Function.class),
+                            MethodType.methodType(Object.class, Object.class),
+                            handle,
+                            MethodType.methodType(wrap(accessor.getReturnType()), type));
+                    return (Function<T, Object>) site.getTarget().invoke();
+                } catch (Throwable e) {
+                    return getterInvoker(handle);
+                }
+            }
+            return getterInvoker(lookup.unreflectGetter(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问字段: " + type.getName() + "." + field.getName(), e);
+        }
+    }
+
+    /**
+     * 编译字段写入器：setXxx，不存在时直接写入非 final 字段
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> BiConsumer<T, Object> compileSetter(MethodHandles.Lookup lookup, Class<T> type, Field field) {
+        try {
+            Method setter = findSetter(type, field);
+            if (setter != null) {
+                MethodHandle handle = lookup.unreflect(setter);
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(
+                            lookup,
+                            "accept",
+                            MethodType.methodType(BiConsumer.class),
+                            MethodType.methodType(void.class, Object.class, Object.class),
+                            handle,
+                            MethodType.methodType(void.class, type, wrap(field.getType())));
+                    return (BiConsumer<T, Object>) site.getTarget().invoke();
+                } catch (Throwable e) {
+                    return setterInvoker(handle);
+                }
+            }
+            if (Modifier.isFinal(field.getModifiers())) {
+                return null;
+            }
+            return setterInvoker(lookup.unreflectSetter(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("无法访问字段: " + type.getName() + "." + field.getName(), e);
+        }
+    }
+
+    /**
+     * 编译构造器：record 使用规范构造器（参数展开为 Object[]），普通类使用无参构造器
+     */
+    private static MethodHandle compileConstructor(MethodHandles.Lookup lookup, Class<?> type) {
+        try {
+            if (type.isRecord()) {
+                Class<?>[] parameterTypes = Arrays.stream(type.getRecordComponents())
+                        .map(RecordComponent::getType)
+                        .toArray(Class<?>[]::new);
+                return lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+                        .asSpreader(Object[].class, parameterTypes.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            }
+            return lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Method findAccessor(Class<?> type, Field field) {
+        String name = field.getName();
+        String capitalized = capitalize(name);
+        List<String> candidates = type.isRecord()
+                ? List.of(name)
+                : List.of("get" + capitalized, "is" + capitalized);
+        for (String candidate : candidates) {
+            try {
+                Method method = type.getMethod(candidate);
+                if (method.getReturnType() == field.getType()) {
+                    return method;
+                }
+            } catch (NoSuchMethodException ignored) {
+                // 尝试下一个候选方法
+            }
+        }
+        return null;
+    }
+
+    private static Method findSetter(Class<?> type, Field field) {
+        try {
+            return type.getMethod("set" + capitalize(field.getName()), field.getType());
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static <T> Function<T, Object> getterInvoker(MethodHandle handle) {
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return instance -> {
+            try {
+                return generic.invokeExact((Object) instance);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static <T> BiConsumer<T, Object> setterInvoker(MethodHandle handle) {
+        MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (instance, value) -> {
+            try {
+                generic.invokeExact((Object) instance, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+}
@@ -0,0 +1,90 @@
+package com.adminplus.excel;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Excel 单元格文本与字段类型的转换
+ * 导入时单元格内容统一按格式化后的文本读取，再按字段类型转换
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+final class ExcelValueConverter {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final Map<Class<?>, Function<String, Object>> PARSERS = Map.ofEntries(
+            Map.entry(String.class, text -> text),
+            Map.entry(Integer.class, text -> new BigDecimal(text).intValueExact()),
+            Map.entry(int.class, text -> new BigDecimal(text).intValueExact()),
+            Map.entry(Long.class, text -> new BigDecimal(text).longValueExact()),
+            Map.entry(long.class, text -> new BigDecimal(text).longValueExact()),
+            Map.entry(Double.class, Double::parseDouble),
+            Map.entry(double.class, Double::parseDouble),
+            Map.entry(BigDecimal.class, BigDecimal::new),
+            Map.entry(Boolean.class, ExcelValueConverter::parseBoolean),
+            Map.entry(boolean.class, ExcelValueConverter::parseBoolean),
+            Map.entry(LocalDateTime.class, ExcelValueConverter::parseDateTime),
+            Map.entry(LocalDate.class, text -> LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text)),
+            Map.entry(Instant.class, text -> parseDateTime(text).atZone(ZoneId.systemDefault()).toInstant())
+    );
+
+    private ExcelValueConverter() {
+    }
+
+    /**
+     * 将单元格文本转换为字段类型，空白文本返回 null
+     *
+     * @throws IllegalArgumentException 文本无法转换为目标类型
+     */
+    static Object convert(String text, Class<?> type) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        Function<String, Object> parser = PARSERS.get(type);
+        if (parser == null) {
+            throw new IllegalArgumentException("不支持的字段类型: " + type.getSimpleName());
+        }
+        try {
+            return parser.apply(text.trim());
+        } catch (ArithmeticException | NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无法转换为" + type.getSimpleName() + ": " + text);
+        }
+    }
+
+    /**
+     * 基本类型的默认值，用于 record 构造器中未提供的基本类型参数
+     */
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        return convert("0", type);
+    }
+
+    private static Object parseBoolean(String text) {
+        return switch (text.toLowerCase()) {
+            case "true", "1", "是", "y", "yes" -> true;
+            case "false", "0", "否", "n", "no" -> false;
+            default -> throw new IllegalArgumentException("无法转换为Boolean: " + text);
+        };
+    }
+
+    private static LocalDateTime parseDateTime(String text) {
+        if (text.length() == 10) {
+            return LocalDate.parse(text).atStartOfDay();
+        }
+        return text.indexOf('T') > 0 ? LocalDateTime.parse(text) : LocalDateTime.parse(text, DATE_TIME_FORMATTER);
+    }
+}
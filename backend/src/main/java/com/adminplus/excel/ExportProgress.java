@@ -0,0 +1,37 @@
+package com.adminplus.excel;
+
+/**
+ * 导出进度回调
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public interface ExportProgress {
+
+    /**
+     * 不关心进度时使用
+     */
+    ExportProgress NONE = new ExportProgress() {
+        @Override
+        public void start(long estimatedTotal) {
+        }
+
+        @Override
+        public void advance(long processedRows) {
+        }
+    };
+
+    /**
+     * 开始导出
+     *
+     * @param estimatedTotal 预计总行数，未知时为 -1
+     */
+    void start(long estimatedTotal);
+
+    /**
+     * 更新已写出的行数
+     *
+     * @param processedRows 已写出的行数（累计值）
+     */
+    void advance(long processedRows);
+}
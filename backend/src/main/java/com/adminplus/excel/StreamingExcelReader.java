@@ -0,0 +1,239 @@
+package com.adminplus.excel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 基于 SAX 事件的流式 Excel 读取器
+ * 逐行解析第一个工作表，每攒满一批交给 {@link ExcelBatchSink} 处理，内存占用与批大小相关而与行数无关
+ * （共享字符串表以只读方式加载，占用与不重复的文本数量相关）；
+ * 第一行为表头，按表头文本或字段名匹配列，均不匹配时按列顺序对应
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+public final class StreamingExcelReader<T> {
+
+    /**
+     * 默认批大小
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * 结果中保留的失败明细上限
+     */
+    public static final int MAX_ERROR_DETAILS = 1000;
+
+    private final ExcelSchema<T> schema;
+    private final List<ExcelSchema.Column<T>> columns;
+    private final int batchSize;
+    private final ExcelBatchSink<T> sink;
+
+    private final List<ExcelRow<T>> batch;
+    private final List<ExcelRowError> errors = new ArrayList<>();
+    private long totalRows;
+    private long failedRows;
+
+    private StreamingExcelReader(Class<T> type, int batchSize, ExcelBatchSink<T> sink) {
+        this.schema = ExcelSchema.of(type);
+        this.columns = schema.columns();
+        this.batchSize = Math.max(1, batchSize);
+        this.sink = sink;
+        this.batch = new ArrayList<>(this.batchSize);
+    }
+
+    /**
+     * 读取 Excel 文件
+     *
+     * @param file      xlsx 文件
+     * @param type      行数据类型
+     * @param batchSize 批大小
+     * @param sink      批次处理器
+     * @return 导入结果
+     */
+    public static <T> ExcelImportResult read(Path file, Class<T> type, int batchSize, ExcelBatchSink<T> sink) throws IOException {
+        StreamingExcelReader<T> reader = new StreamingExcelReader<>(type, batchSize, sink);
+        reader.parse(file);
+        return reader.result();
+    }
+
+    private void parse(Path file) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = xssfReader.getStylesTable();
+
+            Iterator<InputStream> sheets = xssfReader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, strings, new RowHandler(), new DataFormatter(Locale.CHINA), false));
+                parser.parse(new InputSource(sheet));
+            }
+            flush();
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Excel 文件格式错误: " + e.getMessage(), e);
+        }
+    }
+
+    private ExcelImportResult result() {
+        return new ExcelImportResult(totalRows, totalRows - failedRows, failedRows, List.copyOf(errors));
+    }
+
+    private void reject(int rowNumber, String message) {
+        failedRows++;
+        if (errors.size() < MAX_ERROR_DETAILS) {
+            errors.add(new ExcelRowError(rowNumber, message));
+        }
+    }
+
+    /**
+     * 将当前批次交给处理器
+     */
+    private void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<ExcelRowError> rejected = sink.accept(List.copyOf(batch));
+            for (ExcelRowError error : rejected) {
+                reject(error.rowNumber(), error.message());
+            }
+        } catch (Exception e) {
+            log.warn("Excel 导入批次处理失败: rows={}-{}, error={}",
+                    batch.getFirst().rowNumber(), batch.getLast().rowNumber(), e.getMessage());
+            String message = "批量保存失败: " + e.getMessage();
+            for (ExcelRow<T> row : batch) {
+                reject(row.rowNumber(), message);
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * 行事件处理：第一行建立表头映射，之后每行转换为对象加入批次
+     */
+    private final class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        /**
+         * Excel 列号到 schema 列下标的映射，-1 表示忽略该列
+         */
+        private int[] mapping = new int[0];
+        private String[] cells = new String[0];
+        private int nextColumn;
+        private boolean blank;
+        private boolean headerRead;
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, null);
+            nextColumn = 0;
+            blank = true;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (column >= cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(column + 1, cells.length * 2));
+            }
+            cells[column] = formattedValue;
+            if (formattedValue != null && !formattedValue.isBlank()) {
+                blank = false;
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!headerRead) {
+                headerRead = true;
+                buildMapping();
+                return;
+            }
+            if (blank) {
+                return;
+            }
+
+            totalRows++;
+            int rowNumber = rowNum + 1;
+            Object[] values = new Object[columns.size()];
+            try {
+                for (int i = 0; i < mapping.length && i < cells.length; i++) {
+                    int index = mapping[i];
+                    if (index >= 0) {
+                        values[index] = ExcelValueConverter.convert(cells[i], columns.get(index).type());
+                    }
+                }
+                batch.add(new ExcelRow<>(rowNumber, schema.newInstance(values)));
+            } catch (IllegalArgumentException e) {
+                reject(rowNumber, e.getMessage());
+            }
+
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * 根据表头建立列映射，表头均无法识别时按列顺序对应
+         */
+        private void buildMapping() {
+            int width = Math.max(cells.length, columns.size());
+            mapping = new int[width];
+            Arrays.fill(mapping, -1);
+
+            boolean matched = false;
+            for (int i = 0; i < cells.length; i++) {
+                String header = cells[i] != null ? cells[i].trim() : null;
+                if (header == null || header.isEmpty()) {
+                    continue;
+                }
+                for (int j = 0; j < columns.size(); j++) {
+                    ExcelSchema.Column<T> column = columns.get(j);
+                    if (header.equals(column.header()) || header.equalsIgnoreCase(column.name())) {
+                        mapping[i] = j;
+                        matched = true;
+                        break;
+                    }
+                }
+            }
+
+            if (!matched) {
+                for (int i = 0; i < columns.size(); i++) {
+                    mapping[i] = i;
+                }
+            }
+            if (cells.length < width) {
+                cells = Arrays.copyOf(cells, width);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.adminplus.excel;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * 流式 Excel 写入器
+ * 基于 SXSSFWorkbook，内存中只保留固定行数的窗口，其余行写入压缩临时文件，
+ * 配合数据库游标读取时内存占用与导出行数无关；超过单个工作表行数上限时自动新建工作表
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public class StreamingExcelWriter<T> implements Closeable {
+
+    // 内存中保留的行数
+    private static final int ROW_ACCESS_WINDOW = 200;
+
+    // 进度回调间隔（行）
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    // double 可精确表示的最大整数，超出时按文本写入避免精度丢失
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    // 单元格文本长度上限
+    private static final int MAX_CELL_TEXT_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+    // 每个工作表的数据行上限（扣除表头）
+    private static final int MAX_DATA_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final SXSSFWorkbook workbook;
+    private final List<ExcelSchema.Column<T>> columns;
+    private final String sheetName;
+    private final CellStyle headerStyle;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private SXSSFSheet sheet;
+    private int sheetCount;
+    private int sheetRow;
+    private long rowCount;
+    private LongConsumer progressListener = count -> { };
+
+    public StreamingExcelWriter(Class<T> type, String sheetName) {
+        this.workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.columns = ExcelSchema.of(type).columns();
+        this.sheetName = sheetName;
+
+        this.headerStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        this.headerStyle.setFont(headerFont);
+    }
+
+    /**
+     * 设置进度回调（参数为已写入的数据行数）
+     */
+    public StreamingExcelWriter<T> onProgress(LongConsumer progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    /**
+     * 写入数据流中的所有行
+     *
+     * @return 累计写入的数据行数
+     */
+    public long write(Stream<T> rows) {
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writeRow(iterator.next());
+        }
+        return rowCount;
+    }
+
+    /**
+     * 写入集合中的所有行
+     *
+     * @return 累计写入的数据行数
+     */
+    public long write(Iterable<T> rows) {
+        for (T row : rows) {
+            writeRow(row);
+        }
+        return rowCount;
+    }
+
+    /**
+     * 写入一行数据
+     */
+    public void writeRow(T item) {
+        if (sheet == null || sheetRow > MAX_DATA_ROWS_PER_SHEET) {
+            newSheet();
+        }
+
+        Row row = sheet.createRow(sheetRow++);
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = columns.get(i).getter().apply(item);
+            if (value != null) {
+                setCellValue(row.createCell(i), value);
+            }
+        }
+
+        rowCount++;
+        if (rowCount % PROGRESS_INTERVAL == 0) {
+            progressListener.accept(rowCount);
+        }
+    }
+
+    /**
+     * 输出工作簿（不关闭输出流）
+     */
+    public void finish(OutputStream out) throws IOException {
+        if (sheet == null) {
+            newSheet();
+        }
+        workbook.write(out);
+        out.flush();
+        progressListener.accept(rowCount);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 关闭工作簿，同时删除临时文件
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.close();
+    }
+
+    private void newSheet() {
+        sheetCount++;
+        sheet = workbook.createSheet(sheetCount == 1 ? sheetName : sheetName + "-" + sheetCount);
+        sheetRow = 0;
+
+        Row headerRow = sheet.createRow(sheetRow++);
+        for (int i = 0; i < columns.size(); i++) {
+            ExcelSchema.Column<T> column = columns.get(i);
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(column.header());
+            cell.setCellStyle(headerStyle);
+            if (column.width() > 0) {
+                sheet.setColumnWidth(i, Math.min(255, column.width()) * 256);
+            }
+        }
+    }
+
+    private void setCellValue(Cell cell, Object value) {
+        if (value instanceof Long number && Math.abs(number) > MAX_EXACT_LONG) {
+            cell.setCellValue(number.toString());
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Double || value instanceof Float) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else if (value instanceof TemporalAccessor temporal) {
+            cell.setCellValue(formatTemporal(temporal));
+        } else {
+            String text = value.toString();
+            cell.setCellValue(text.length() > MAX_CELL_TEXT_LENGTH ? text.substring(0, MAX_CELL_TEXT_LENGTH) : text);
+        }
+    }
+
+    private String formatTemporal(TemporalAccessor temporal) {
+        if (temporal instanceof Instant instant) {
+            return DATE_TIME_FORMATTER.format(instant.atZone(zone));
+        }
+        if (temporal instanceof LocalDateTime localDateTime) {
+            return DATE_TIME_FORMATTER.format(localDateTime);
+        }
+        if (temporal instanceof LocalDate localDate) {
+            return DATE_FORMATTER.format(localDate);
+        }
+        return temporal.toString();
+    }
+}
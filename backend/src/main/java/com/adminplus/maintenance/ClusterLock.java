@@ -0,0 +1,64 @@
+package com.adminplus.maintenance;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 基于 Redis 的集群锁
+ * 通过 SET NX PX 加锁，锁值为本次加锁的随机令牌，只有持有者才能释放；节点宕机时锁在 PX 到期后自动释放
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Component
+@RequiredArgsConstructor
+public class ClusterLock {
+
+    private static final String KEY_PREFIX = "maintenance:lock:";
+
+    /**
+     * 仍由自己持有时释放锁：ARGV[2] 大于 0 时保留到该毫秒数后过期，否则立即删除
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+                return 0
+            end
+            if tonumber(ARGV[2]) > 0 then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 尝试加锁
+     *
+     * @param name       锁名称
+     * @param lockAtMost 锁的最长持有时间
+     * @return 加锁成功时返回锁令牌，锁已被其他节点持有时返回 null
+     */
+    public String tryAcquire(String name, Duration lockAtMost) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + name, token, lockAtMost);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    /**
+     * 释放锁
+     *
+     * @param name    锁名称
+     * @param token   加锁时返回的令牌
+     * @param holdFor 释放后继续保留的时长，避免时钟略有偏差的其他节点在同一触发周期内再次执行
+     */
+    public void release(String name, String token, Duration holdFor) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + name),
+                token, String.valueOf(Math.max(0, holdFor.toMillis())));
+    }
+}
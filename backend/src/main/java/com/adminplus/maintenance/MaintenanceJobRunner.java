@@ -0,0 +1,100 @@
+package com.adminplus.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 维护任务执行器
+ * 统一记录每个任务的执行耗时（maintenance.job.duration，按 job 和 outcome 区分）和因其他节点持锁而跳过的次数；
+ * 任务异常只记录日志，不影响下一次调度
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MaintenanceJobRunner {
+
+    // 任务完成后锁的最短保留时间
+    private static final Duration MIN_LOCK_HOLD = Duration.ofSeconds(30);
+
+    private final ClusterLock clusterLock;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 在集群中只由一个节点执行任务
+     *
+     * @param job        任务名称，同时作为锁名称
+     * @param lockAtMost 锁的最长持有时间，应大于任务的最长执行时间
+     */
+    public void runExclusive(String job, Duration lockAtMost, Runnable task) {
+        String token;
+        try {
+            token = clusterLock.tryAcquire(job, lockAtMost);
+        } catch (Exception e) {
+            log.warn("维护任务加锁失败，本次跳过: job={}, error={}", job, e.getMessage());
+            skipped(job);
+            return;
+        }
+        if (token == null) {
+            log.debug("维护任务正由其他节点执行，本次跳过: job={}", job);
+            skipped(job);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            run(job, task);
+        } finally {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            try {
+                clusterLock.release(job, token, MIN_LOCK_HOLD.minus(elapsed));
+            } catch (Exception e) {
+                // 锁会在 lockAtMost 后自动过期
+                log.warn("维护任务释放锁失败: job={}, error={}", job, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 在当前节点执行任务（用于维护节点本地状态的任务）
+     */
+    public void runLocal(String job, Runnable task) {
+        run(job, task);
+    }
+
+    private void run(String job, Runnable task) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            task.run();
+        } catch (Exception e) {
+            outcome = "failure";
+            log.error("维护任务执行失败: job={}", job, e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("maintenance.job.duration")
+                    .description("维护任务执行耗时")
+                    .tag("job", job)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(elapsed));
+            log.info("维护任务执行完成: job={}, outcome={}, cost={}ms", job, outcome, elapsed / 1_000_000);
+        }
+    }
+
+    private void skipped(String job) {
+        Counter.builder("maintenance.job.skipped")
+                .description("因其他节点持锁而跳过的维护任务次数")
+                .tag("job", job)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,133 @@
+package com.adminplus.maintenance;
+
+import com.adminplus.audit.LogPartitionManager;
+import com.adminplus.cache.MenuTreeIndexHolder;
+import com.adminplus.entity.DictEntity;
+import com.adminplus.repository.DictRepository;
+import com.adminplus.service.DictService;
+import com.adminplus.service.ExportJobService;
+import com.adminplus.service.RefreshTokenService;
+import com.adminplus.service.TokenBlacklistService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * 定时维护任务
+ * 清理过期 Refresh Token 和维护操作日志分区在集群中只由一个节点执行；
+ * Token 黑名单本地状态重建、导出文件清理和缓存预热针对节点本地状态，每个节点各自执行
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class MaintenanceScheduler {
+
+    private final MaintenanceJobRunner jobRunner;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final ExportJobService exportJobService;
+    private final LogPartitionManager logPartitionManager;
+    private final DictRepository dictRepository;
+    private final DictService dictService;
+    private final MenuTreeIndexHolder menuTreeIndexHolder;
+    private final Executor asyncExecutor;
+    private final Duration refreshTokenPurgeLockAtMost;
+    private final Duration logRetentionLockAtMost;
+    private final boolean cacheWarmupEnabled;
+
+    public MaintenanceScheduler(MaintenanceJobRunner jobRunner,
+                                RefreshTokenService refreshTokenService,
+                                TokenBlacklistService tokenBlacklistService,
+                                ExportJobService exportJobService,
+                                LogPartitionManager logPartitionManager,
+                                DictRepository dictRepository,
+                                DictService dictService,
+                                MenuTreeIndexHolder menuTreeIndexHolder,
+                                @Qualifier("asyncExecutor") Executor asyncExecutor,
+                                @Value("${maintenance.refresh-token-purge.lock-at-most:10m}") Duration refreshTokenPurgeLockAtMost,
+                                @Value("${maintenance.log-retention.lock-at-most:30m}") Duration logRetentionLockAtMost,
+                                @Value("${maintenance.cache-warmup.enabled:true}") boolean cacheWarmupEnabled) {
+        this.jobRunner = jobRunner;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.exportJobService = exportJobService;
+        this.logPartitionManager = logPartitionManager;
+        this.dictRepository = dictRepository;
+        this.dictService = dictService;
+        this.menuTreeIndexHolder = menuTreeIndexHolder;
+        this.asyncExecutor = asyncExecutor;
+        this.refreshTokenPurgeLockAtMost = refreshTokenPurgeLockAtMost;
+        this.logRetentionLockAtMost = logRetentionLockAtMost;
+        this.cacheWarmupEnabled = cacheWarmupEnabled;
+    }
+
+    /**
+     * 分批删除过期的 Refresh Token（Redis 存储按 TTL 自动过期，无需删除）
+     */
+    @Scheduled(cron = "${maintenance.refresh-token-purge.cron:0 0 * * * *}")
+    public void purgeExpiredRefreshTokens() {
+        jobRunner.runExclusive("refresh-token-purge", refreshTokenPurgeLockAtMost,
+                refreshTokenService::cleanupExpiredTokens);
+    }
+
+    /**
+     * 预建操作日志分区并删除超过保留期的分区（sys_log 不是分区表时分批删除过期日志）
+     */
+    @Scheduled(cron = "${maintenance.log-retention.cron:0 30 2 * * *}")
+    public void maintainLogRetention() {
+        jobRunner.runExclusive("log-retention", logRetentionLockAtMost, logPartitionManager::maintain);
+    }
+
+    /**
+     * 重建本节点的 Token 黑名单状态，移除已过期的条目
+     */
+    @Scheduled(fixedDelayString = "${maintenance.token-blacklist-rebuild.interval:5m}",
+            initialDelayString = "${maintenance.token-blacklist-rebuild.interval:5m}")
+    public void rebuildTokenBlacklist() {
+        jobRunner.runLocal("token-blacklist-rebuild", tokenBlacklistService::cleanupExpiredTokens);
+    }
+
+    /**
+     * 删除本节点上超过保留时长的导出文件
+     */
+    @Scheduled(fixedDelayString = "${maintenance.export-job-purge.interval:5m}",
+            initialDelayString = "${maintenance.export-job-purge.interval:5m}")
+    public void purgeExpiredExportJobs() {
+        jobRunner.runLocal("export-job-purge", exportJobService::purgeExpired);
+    }
+
+    /**
+     * 启动后在后台预热字典和菜单缓存，避免发布后的首批请求集中回源数据库
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (cacheWarmupEnabled) {
+            asyncExecutor.execute(() -> jobRunner.runLocal("cache-warmup", this::warmUpCaches));
+        }
+    }
+
+    private void warmUpCaches() {
+        menuTreeIndexHolder.get();
+
+        int warmed = 0;
+        for (DictEntity dict : dictRepository.findByStatusAndDeletedFalse(1)) {
+            try {
+                // 经由代理调用，结果写入 dict 缓存
+                dictService.getDictItemsByType(dict.getDictType());
+                warmed++;
+            } catch (Exception e) {
+                log.warn("预热字典缓存失败: dictType={}, error={}", dict.getDictType(), e.getMessage());
+            }
+        }
+        log.info("缓存预热完成: 菜单树索引, 字典 {} 个", warmed);
+    }
+}
@@ -0,0 +1,102 @@
+package com.adminplus.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本地令牌桶预过滤
+ * 本地桶只记录经 Redis 放行的请求，消耗量不超过全局桶，因此本地桶耗尽时全局桶必然也已耗尽，
+ * 可直接拒绝而无需访问 Redis；本地桶有余量时仍以 Redis 的判定为准
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public class LocalPrefilterRateLimiter implements RateLimiter {
+
+    // 本地桶最大数量
+    private static final long MAXIMUM_BUCKETS = 100_000;
+
+    private final RateLimiter delegate;
+    private final Cache<String, LocalBucket> buckets;
+    private final Counter localRejections;
+
+    public LocalPrefilterRateLimiter(RateLimiter delegate, Duration maxWindow, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_BUCKETS)
+                .expireAfterAccess(maxWindow)
+                .build();
+        this.localRejections = Counter.builder("rate.limit.prefilter.rejections")
+                .description("本地预过滤直接拒绝的请求数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, int capacity, Duration window) {
+        LocalBucket bucket = buckets.get(key, k -> new LocalBucket(capacity, window));
+        long retryAfterMillis = bucket.retryAfterMillis();
+        if (retryAfterMillis > 0) {
+            localRejections.increment();
+            return new RateLimitDecision(false, 0, retryAfterMillis);
+        }
+
+        RateLimitDecision decision = delegate.tryAcquire(key, capacity, window);
+        if (decision.allowed()) {
+            bucket.consume();
+        }
+        return decision;
+    }
+
+    /**
+     * 本地令牌桶（与 Redis 脚本相同的补充规则）
+     */
+    private static final class LocalBucket {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final double capacity;
+        private final double ratePerNanos;
+        private double tokens;
+        private long lastRefillNanos;
+
+        LocalBucket(int capacity, Duration window) {
+            this.capacity = capacity;
+            this.ratePerNanos = capacity / (double) window.toNanos();
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        /**
+         * 桶内不足一个令牌时返回需要等待的毫秒数，否则返回 0
+         */
+        long retryAfterMillis() {
+            lock.lock();
+            try {
+                refill();
+                return tokens >= 1 ? 0 : Math.max(1, (long) Math.ceil((1 - tokens) / ratePerNanos / 1_000_000));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void consume() {
+            lock.lock();
+            try {
+                refill();
+                tokens = Math.max(0, tokens - 1);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerNanos);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.adminplus.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * 限流引擎配置
+ * Redis 令牌桶为全局判定，按需在前面叠加本地预过滤
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, StringRedisTemplate redisTemplate,
+                                   MeterRegistry meterRegistry) {
+        RateLimiter redisLimiter = new RedisTokenBucketRateLimiter(redisTemplate);
+        if (!properties.localPrefilter()) {
+            return redisLimiter;
+        }
+
+        // 本地桶至少保留一个最长窗口，避免空闲过期后提前补满
+        Duration maxWindow = properties.rules().stream()
+                .map(RateLimitProperties.Rule::window)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        log.info("限流本地预过滤已启用: maxWindow={}", maxWindow);
+        return new LocalPrefilterRateLimiter(redisLimiter, maxWindow, meterRegistry);
+    }
+}
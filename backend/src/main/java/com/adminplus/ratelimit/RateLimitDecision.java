@@ -0,0 +1,17 @@
+package com.adminplus.ratelimit;
+
+/**
+ * 限流判定结果
+ *
+ * @param allowed          是否放行
+ * @param remaining        剩余可用请求数
+ * @param retryAfterMillis 被拒绝时建议的重试等待时间（毫秒）
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record RateLimitDecision(
+        boolean allowed,
+        long remaining,
+        long retryAfterMillis
+) {
+}
@@ -0,0 +1,68 @@
+package com.adminplus.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 限流配置
+ * 规则按顺序匹配，请求路径命中的第一条规则生效
+ *
+ * @param enabled        是否启用限流
+ * @param localPrefilter 是否启用本地令牌桶预过滤（本节点已超限的客户端不再访问 Redis）
+ * @param rules          限流规则
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        Boolean enabled,
+        Boolean localPrefilter,
+        List<Rule> rules
+) {
+
+    public RateLimitProperties {
+        enabled = enabled == null || enabled;
+        localPrefilter = localPrefilter == null || localPrefilter;
+        rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+
+    /**
+     * 限流规则
+     *
+     * @param name     规则名称（用于限流键和监控指标）
+     * @param path     路径模式（不含 context-path），如 /v1/auth/login、/v1/auth/**
+     * @param capacity 时间窗口内允许的最大请求数
+     * @param window   时间窗口
+     * @param key      限流维度，默认按客户端 IP
+     */
+    public record Rule(
+            String name,
+            String path,
+            int capacity,
+            Duration window,
+            Key key
+    ) {
+
+        public Rule {
+            key = key == null ? Key.IP : key;
+        }
+    }
+
+    /**
+     * 限流维度
+     */
+    public enum Key {
+
+        /**
+         * 按客户端 IP
+         */
+        IP,
+
+        /**
+         * 按当前登录用户，未登录时退回按客户端 IP
+         */
+        USER
+    }
+}
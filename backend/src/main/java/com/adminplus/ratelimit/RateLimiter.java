@@ -0,0 +1,23 @@
+package com.adminplus.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * 限流引擎接口
+ * 按令牌桶语义：桶容量为 capacity，每个 window 内匀速补满
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public interface RateLimiter {
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param key      限流键
+     * @param capacity 时间窗口内允许的最大请求数
+     * @param window   时间窗口
+     * @return 限流判定结果
+     */
+    RateLimitDecision tryAcquire(String key, int capacity, Duration window);
+}
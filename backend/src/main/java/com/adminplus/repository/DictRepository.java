@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,4 +26,9 @@ public interface DictRepository extends JpaRepository<DictEntity, String>, JpaSp
      * 检查字典类型是否存在
      */
     boolean existsByDictType(String dictType);
+
+    /**
+     * 查询指定状态的未删除字典
+     */
+    List<DictEntity> findByStatusAndDeletedFalse(Integer status);
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.adminplus.repository;
+
+import com.adminplus.dto.PageQuery;
+import com.adminplus.entity.BaseEntity;
+import com.adminplus.exception.BizException;
+import com.adminplus.vo.PageResultVO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 列表分页执行器
+ * 统一按 (create_time DESC, id DESC) 排序，id（雪花ID）作为同一时间戳下的次序；
+ * 游标分页以上一页最后一行的 (create_time, id) 为起点，借助对应的联合索引直接定位，不使用 OFFSET，也不执行 COUNT
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginator {
+
+    /**
+     * 估算行数低于该值时直接精确统计
+     */
+    private static final long EXACT_COUNT_THRESHOLD = 10_000;
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createTime"), Sort.Order.desc("id"));
+
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    /**
+     * 执行分页查询
+     *
+     * @param repository  实体 Repository
+     * @param entityClass 实体类型（用于估算总数）
+     * @param spec        筛选条件
+     * @param filtered    除 deleted = false 外是否还有其他筛选条件（表级估算只能扣除已逻辑删除的行，有其他筛选时不使用）
+     * @param query       分页参数
+     * @return 实体分页结果
+     */
+    public <T extends BaseEntity> PageResultVO<T> find(JpaSpecificationExecutor<T> repository,
+                                                        Class<T> entityClass,
+                                                        Specification<T> spec,
+                                                        boolean filtered,
+                                                        PageQuery query) {
+        int size = query.size();
+
+        if (!query.isKeyset()) {
+            var page = repository.findAll(spec, PageRequest.of(query.page() - 1, size, KEYSET_SORT));
+            List<T> content = page.getContent();
+            return new PageResultVO<>(content, page.getTotalElements(), query.page(), size,
+                    page.hasNext() ? Cursor.of(content.getLast()).encode() : null, page.hasNext(), false);
+        }
+
+        Cursor cursor = Cursor.decode(query.cursor());
+        // 多取一行用于判断是否还有下一页
+        List<T> rows = repository.findBy(spec.and(after(cursor)),
+                q -> q.sortBy(KEYSET_SORT).limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        List<T> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? Cursor.of(content.getLast()).encode() : null;
+
+        Long total = null;
+        boolean estimated = false;
+        if (Boolean.TRUE.equals(query.withTotal())) {
+            total = repository.count(spec);
+        } else if (query.withTotal() == null && !filtered) {
+            long estimate = tableStatisticsRepository.estimateRowCount(entityClass);
+            if (estimate >= EXACT_COUNT_THRESHOLD) {
+                total = estimate;
+                estimated = true;
+            } else {
+                total = repository.count(spec);
+            }
+        }
+        return new PageResultVO<>(List.copyOf(content), total, null, size, nextCursor, hasMore, estimated);
+    }
+
+    /**
+     * 位于游标之后（按 create_time DESC, id DESC 排序）的行
+     * 额外的 create_time <= ? 条件让数据库可以直接在索引上确定扫描起点
+     */
+    private static <T extends BaseEntity> Specification<T> after(Cursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            var createTime = root.<Instant>get("createTime");
+            return cb.and(
+                    cb.lessThanOrEqualTo(createTime, cursor.createTime()),
+                    cb.or(
+                            cb.lessThan(createTime, cursor.createTime()),
+                            cb.and(cb.equal(createTime, cursor.createTime()),
+                                    cb.lessThan(root.get("id"), cursor.id()))
+                    )
+            );
+        };
+    }
+
+    /**
+     * 分页游标：上一页最后一行的 (create_time, id)，以 URL 安全的 Base64 传递
+     */
+    record Cursor(Instant createTime, String id) {
+
+        static Cursor of(BaseEntity entity) {
+            return new Cursor(entity.getCreateTime(), entity.getId());
+        }
+
+        /**
+         * 解析游标，空字符串表示第一页
+         */
+        static Cursor decode(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                String[] parts = decoded.split(":", 3);
+                Instant createTime = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+                if (parts[2].isEmpty()) {
+                    throw new IllegalArgumentException("id 为空");
+                }
+                return new Cursor(createTime, parts[2]);
+            } catch (RuntimeException e) {
+                throw new BizException("分页游标无效");
+            }
+        }
+
+        String encode() {
+            String raw = createTime.getEpochSecond() + ":" + createTime.getNano() + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
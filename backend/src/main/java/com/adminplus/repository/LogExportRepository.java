@@ -0,0 +1,51 @@
+package com.adminplus.repository;
+
+import com.adminplus.entity.LogEntity;
+import com.adminplus.vo.LogExportVO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * 操作日志导出 Repository
+ * 按筛选条件以游标方式读取导出行，直接投影为导出对象，不进入持久化上下文
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Repository
+public class LogExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 以游标方式读取导出数据（需在事务中消费并关闭），按操作时间倒序
+     */
+    public Stream<LogExportVO> streamExportRows(Specification<LogEntity> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LogExportVO> query = cb.createQuery(LogExportVO.class);
+        Root<LogEntity> root = query.from(LogEntity.class);
+        query.select(cb.construct(LogExportVO.class,
+                        root.get("createTime"),
+                        root.get("username"),
+                        root.get("module"),
+                        root.get("operationType"),
+                        root.get("description"),
+                        root.get("ip"),
+                        root.get("status"),
+                        root.get("costTime")))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("createTime")), cb.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,127 @@
+package com.adminplus.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 操作日志分区 Repository
+ * sys_log 按 create_time 每月一个分区，分区名为 sys_log_yyyyMM；只识别符合该命名的分区。
+ * 分区边界固定按 UTC 计算（与 docs/init.sql 一致），不受 JVM 或数据库会话时区影响
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Repository
+@RequiredArgsConstructor
+public class LogPartitionRepository {
+
+    private static final String TABLE_NAME = "sys_log";
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE_NAME + "_(\\d{6})");
+    private static final DateTimeFormatter SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * sys_log 是否为分区表（由 Hibernate 自动建表时为普通表）
+     */
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, TABLE_NAME);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * 查询已存在的月分区
+     */
+    public List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(
+                        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                                + "WHERE i.inhparent = to_regclass(?)",
+                        String.class, TABLE_NAME)
+                .stream()
+                .map(name -> {
+                    Matcher matcher = PARTITION_NAME.matcher(name);
+                    return matcher.matches() ? YearMonth.parse(matcher.group(1), SUFFIX_FORMATTER) : null;
+                })
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * 创建月分区，分区边界为该月第一天零点（UTC）
+     * 默认分区中已有落在该月范围内的行时，PostgreSQL 不允许直接创建分区：先卸下默认分区，
+     * 创建新分区后把这些行移入，再重新挂上默认分区，整个过程在同一事务中完成
+     *
+     * @return 从默认分区移入新分区的行数
+     */
+    @Transactional
+    public int createPartition(YearMonth month) {
+        OffsetDateTime from = monthStart(month);
+        OffsetDateTime to = monthStart(month.plusMonths(1));
+        // 分区名和边界均由日期生成，不含外部输入
+        String create = "CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + TABLE_NAME
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+
+        String defaultPartition = findDefaultPartition();
+        if (defaultPartition == null || !hasRowsInRange(defaultPartition, from, to)) {
+            jdbcTemplate.execute(create);
+            return 0;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " DETACH PARTITION " + defaultPartition);
+        jdbcTemplate.execute(create);
+        int moved = jdbcTemplate.update("INSERT INTO " + TABLE_NAME + " SELECT * FROM " + defaultPartition
+                + " WHERE create_time >= ? AND create_time < ?", from, to);
+        jdbcTemplate.update("DELETE FROM " + defaultPartition + " WHERE create_time >= ? AND create_time < ?", from, to);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " ATTACH PARTITION " + defaultPartition + " DEFAULT");
+        return moved;
+    }
+
+    /**
+     * 删除月分区（整表删除，不产生逐行删除的开销和表膨胀）
+     */
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+
+    /**
+     * 查询默认分区的表名，没有默认分区时返回 null
+     */
+    private String findDefaultPartition() {
+        return jdbcTemplate.queryForList(
+                        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                                + "WHERE i.inhparent = to_regclass(?) AND pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT'",
+                        String.class, TABLE_NAME)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private boolean hasRowsInRange(String partition, OffsetDateTime from, OffsetDateTime to) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE create_time >= ? AND create_time < ?)",
+                Boolean.class, from, to);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private static OffsetDateTime monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return TABLE_NAME + "_" + month.format(SUFFIX_FORMATTER);
+    }
+}
@@ -2,8 +2,14 @@ package com.adminplus.repository;
 
 import com.adminplus.entity.LogEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -13,7 +19,7 @@ import java.util.List;
  * @since 2026-02-07
  */
 @Repository
-public interface LogRepository extends JpaRepository<LogEntity, String> {
+public interface LogRepository extends JpaRepository<LogEntity, String>, JpaSpecificationExecutor<LogEntity> {
 
     /**
      * 统计未删除的日志数量
@@ -26,7 +32,11 @@ public interface LogRepository extends JpaRepository<LogEntity, String> {
     List<LogEntity> findTop10ByDeletedFalseOrderByCreateTimeDesc();
 
     /**
-     * 获取最近成功的登录日志（用于在线用户）
+     * 删除一批早于截止时间的日志，每批单独提交，避免长事务和大量行锁（sys_log 不是分区表时的保留策略）
      */
-    List<LogEntity> findTop10ByStatusAndDeletedFalseOrderByCreateTimeDesc(Integer status);
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM sys_log WHERE id IN "
+            + "(SELECT id FROM sys_log WHERE create_time < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteCreatedBeforeBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
\ No newline at end of file
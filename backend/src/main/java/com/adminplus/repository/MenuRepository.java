@@ -2,6 +2,7 @@ package com.adminplus.repository;
 
 import com.adminplus.entity.MenuEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -29,4 +30,20 @@ public interface MenuRepository extends JpaRepository<MenuEntity, String> {
      * 统计指定类型的菜单数量
      */
     long countByTypeAndDeletedFalse(Integer type);
+
+    /**
+     * 按类型统计未删除的菜单数量
+     */
+    @Query("SELECT m.type AS type, COUNT(m) AS total FROM MenuEntity m WHERE m.deleted = false GROUP BY m.type")
+    List<TypeCount> countGroupByType();
+
+    /**
+     * 类型计数投影
+     */
+    interface TypeCount {
+
+        Integer getType();
+
+        long getTotal();
+    }
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.adminplus.repository;
 
 import com.adminplus.entity.RefreshTokenEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -19,9 +25,23 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity
 
     Optional<RefreshTokenEntity> findByToken(String token);
 
+    /**
+     * 按 Token 查询并加行锁，同一 Token 的并发轮换串行执行
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RefreshTokenEntity t WHERE t.token = :token")
+    Optional<RefreshTokenEntity> findByTokenForUpdate(@Param("token") String token);
+
     List<RefreshTokenEntity> findByUserIdAndRevokedFalse(String userId);
 
-    void deleteByExpiryDateBefore(Instant date);
+    /**
+     * 删除一批过期的 Token，每批单独提交，避免长事务和大量行锁
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM sys_refresh_token WHERE id IN "
+            + "(SELECT id FROM sys_refresh_token WHERE expiry_date < :date LIMIT :limit)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("date") Instant date, @Param("limit") int limit);
 
     void deleteByUserId(String userId);
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.adminplus.repository;
+
+import com.adminplus.entity.BaseEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 表统计信息 Repository
+ * 读取 PostgreSQL 维护的统计信息，用于大表列表的近似总数，避免每次分页都执行 COUNT(*)
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Repository
+public class TableStatisticsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 估算表中未逻辑删除的行数
+     * 总行数来自 pg_class.reltuples（由 ANALYZE / autovacuum 更新），分区表本身没有统计信息，按各分区的估算值求和
+     * （未分析过的分区按 0 计）；再按 pg_stats 中 deleted = true 的比例扣除已逻辑删除的行，与列表查询的基础条件一致
+     *
+     * @param entityClass 实体类型（表名取自 @Table）
+     * @return 估算行数，表不存在时返回 -1
+     */
+    public long estimateRowCount(Class<? extends BaseEntity> entityClass) {
+        try {
+            Number result = (Number) entityManager.createNativeQuery(
+                            "WITH t AS ("
+                                    + "SELECT COALESCE(sum(GREATEST(c.reltuples, 0)), -1) AS row_count "
+                                    + "FROM pg_class c "
+                                    + "WHERE (c.oid = to_regclass(:tableName) AND c.relkind = 'r') "
+                                    + "OR c.oid IN (SELECT inhrelid FROM pg_inherits WHERE inhparent = to_regclass(:tableName))"
+                                    + "), d AS ("
+                                    + "SELECT max(m.freq) AS deleted_fraction "
+                                    + "FROM pg_stats s "
+                                    + "CROSS JOIN LATERAL unnest(CAST(CAST(s.most_common_vals AS text) AS boolean[]), "
+                                    + "s.most_common_freqs) AS m(val, freq) "
+                                    + "WHERE s.schemaname = current_schema() AND s.tablename = :tableName "
+                                    + "AND s.attname = 'deleted' AND m.val"
+                                    + ") "
+                                    + "SELECT CAST(CASE WHEN t.row_count < 0 THEN -1 "
+                                    + "ELSE t.row_count * (1 - COALESCE(d.deleted_fraction, 0)) END AS BIGINT) "
+                                    + "FROM t, d")
+                    .setParameter("tableName", TimeSeriesRepository.tableName(entityClass))
+                    .getSingleResult();
+            return result != null ? result.longValue() : -1;
+        } catch (NoResultException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.adminplus.repository;
+
+import com.adminplus.constants.TimeGranularity;
+import com.adminplus.entity.BaseEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 时间序列统计 Repository
+ * 按 create_time 分桶计数，一次 date_trunc ... GROUP BY 查询返回整个区间的结果
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Repository
+public class TimeSeriesRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 统计指定实体在时间范围内按时间桶创建的数量（未删除的）
+     *
+     * @param entityClass 实体类型（表名取自 @Table）
+     * @param granularity 统计粒度
+     * @param startTime   开始时间（包含）
+     * @param endTime     结束时间（不包含）
+     * @param zone        分桶使用的时区
+     * @return 时间桶起点（本地时间）到数量的映射，只包含有数据的时间桶
+     */
+    public Map<LocalDateTime, Long> countByCreateTime(Class<? extends BaseEntity> entityClass,
+                                                      TimeGranularity granularity,
+                                                      Instant startTime, Instant endTime, ZoneId zone) {
+        // 表名和粒度均来自代码常量，不接受外部输入
+        String sql = "SELECT date_trunc('" + granularity.sqlUnit() + "', create_time AT TIME ZONE :zone) AS bucket, count(*) "
+                + "FROM " + tableName(entityClass) + " "
+                + "WHERE deleted = false AND create_time >= :startTime AND create_time < :endTime "
+                + "GROUP BY 1 ORDER BY 1";
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("zone", zone.getId())
+                .setParameter("startTime", startTime)
+                .setParameter("endTime", endTime)
+                .getResultList();
+
+        Map<LocalDateTime, Long> result = new LinkedHashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            result.put(toLocalDateTime(row[0]), ((Number) row[1]).longValue());
+        }
+        return result;
+    }
+
+    static String tableName(Class<? extends BaseEntity> entityClass) {
+        Table table = entityClass.getAnnotation(Table.class);
+        if (table == null || table.name().isEmpty()) {
+            throw new IllegalArgumentException("实体未声明表名: " + entityClass.getName());
+        }
+        return table.name();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toLocalDateTime();
+        }
+        throw new IllegalStateException("无法识别的时间桶类型: " + value);
+    }
+}
@@ -1,11 +1,22 @@
 package com.adminplus.repository;
 
 import com.adminplus.entity.UserEntity;
+import com.adminplus.vo.UserExportVO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * 用户 Repository
@@ -14,7 +25,7 @@ import java.util.Optional;
  * @since 2026-02-06
  */
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, String> {
+public interface UserRepository extends JpaRepository<UserEntity, String>, JpaSpecificationExecutor<UserEntity> {
 
     /**
      * 根据用户名查询用户
@@ -26,6 +37,19 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
      */
     boolean existsByUsername(String username);
 
+    /**
+     * 查询已存在的用户名（批量导入时一次性校验一批用户名）
+     */
+    @Query("SELECT u.username FROM UserEntity u WHERE u.username IN :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 更新密码哈希（登录时重新编码，不修改更新时间）
+     */
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") String id, @Param("password") String password);
+
     /**
      * 统计未删除的用户数量
      */
@@ -35,4 +59,13 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
      * 统计指定时间范围内创建的用户数量
      */
     long countByCreateTimeBetweenAndDeletedFalse(Instant startTime, Instant endTime);
+
+    /**
+     * 以游标方式读取导出数据（需在事务中消费并关闭）
+     * 直接投影为导出行，不进入持久化上下文
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.adminplus.vo.UserExportVO(u.id, u.username, u.nickname, u.email, u.phone, u.status, u.createTime) "
+            + "FROM UserEntity u WHERE u.deleted = false ORDER BY u.createTime, u.id")
+    Stream<UserExportVO> streamExportRows();
 }
\ No newline at end of file
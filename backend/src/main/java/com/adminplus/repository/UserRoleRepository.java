@@ -2,6 +2,8 @@ package com.adminplus.repository;
 
 import com.adminplus.entity.UserRoleEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,6 +22,14 @@ public interface UserRoleRepository extends JpaRepository<UserRoleEntity, String
      */
     List<UserRoleEntity> findByUserId(String userId);
 
+    /**
+     * 一次关联查询用户的角色（不含已删除的角色，按角色排序字段排序）
+     */
+    @Query("SELECT r.id AS id, r.code AS code, r.name AS name, r.status AS status FROM UserRoleEntity ur "
+            + "JOIN RoleEntity r ON r.id = ur.roleId "
+            + "WHERE ur.userId = :userId AND r.deleted = false ORDER BY r.sortOrder")
+    List<RoleRef> findRolesByUserId(@Param("userId") String userId);
+
     /**
      * 根据用户ID列表查询角色关联列表（批量查询）
      */
@@ -30,6 +40,14 @@ public interface UserRoleRepository extends JpaRepository<UserRoleEntity, String
      */
     List<UserRoleEntity> findByRoleId(String roleId);
 
+    /**
+     * 按角色统计关联用户数（包含没有用户的角色，按角色排序字段排序）
+     */
+    @Query("SELECT r.name AS name, COUNT(ur.id) AS total FROM RoleEntity r "
+            + "LEFT JOIN UserRoleEntity ur ON ur.roleId = r.id "
+            + "WHERE r.deleted = false GROUP BY r.id, r.name, r.sortOrder ORDER BY r.sortOrder")
+    List<NamedCount> countUsersGroupByRole();
+
     /**
      * 删除用户的所有角色
      */
@@ -39,4 +57,28 @@ public interface UserRoleRepository extends JpaRepository<UserRoleEntity, String
      * 删除角色的所有用户
      */
     void deleteByRoleId(String roleId);
+
+    /**
+     * 用户角色投影
+     */
+    interface RoleRef {
+
+        String getId();
+
+        String getCode();
+
+        String getName();
+
+        Integer getStatus();
+    }
+
+    /**
+     * 分组计数投影
+     */
+    interface NamedCount {
+
+        String getName();
+
+        long getTotal();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.adminplus.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt 强度校准
+ * 在当前 CPU 上测量基准强度的校验耗时，强度每加 1 耗时翻倍，据此推算不超过目标耗时的最大强度。
+ * 集群中由第一个启动的节点校准并写入 Redis，其余节点沿用该强度：各节点自行校准的结果不同时，
+ * 登录后的哈希升级只会不断提高强度，较慢的节点每次校验都要付出数倍于目标的耗时
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    /**
+     * 允许的最小强度（低于该值不再安全）
+     */
+    public static final int MIN_STRENGTH = 10;
+
+    /**
+     * 允许的最大强度
+     */
+    public static final int MAX_STRENGTH = 16;
+
+    // 测量次数，取最小值以排除 JIT 预热和调度抖动
+    private static final int SAMPLES = 3;
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+
+    // 集群共享的校准结果（删除后由下一个启动的节点重新校准）
+    private static final String STRENGTH_KEY = "security:bcrypt-strength";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * 获取集群共享的强度：Redis 中已有校准结果时直接使用，否则在本节点校准后写入（并发启动时以先写入的为准）
+     *
+     * @param targetLatency 单次校验的目标耗时
+     * @return 强度（MIN_STRENGTH 到 MAX_STRENGTH 之间）
+     */
+    public static int calibrateShared(StringRedisTemplate redisTemplate, Duration targetLatency) {
+        String stored = redisTemplate.opsForValue().get(STRENGTH_KEY);
+        if (stored == null) {
+            redisTemplate.opsForValue().setIfAbsent(STRENGTH_KEY, String.valueOf(calibrate(targetLatency)));
+            stored = redisTemplate.opsForValue().get(STRENGTH_KEY);
+        }
+        if (stored == null) {
+            throw new IllegalStateException("无法读取 BCrypt 强度: " + STRENGTH_KEY);
+        }
+
+        int strength = Integer.parseInt(stored);
+        if (strength < MIN_STRENGTH || strength > MAX_STRENGTH) {
+            throw new IllegalStateException("Redis 中的 BCrypt 强度超出范围: " + strength);
+        }
+        log.info("使用集群共享的 BCrypt 强度: {}", strength);
+        return strength;
+    }
+
+    /**
+     * 推算校验耗时不超过目标值的最大强度
+     *
+     * @param targetLatency 单次校验的目标耗时
+     * @return 强度（MIN_STRENGTH 到 MAX_STRENGTH 之间）
+     */
+    public static int calibrate(Duration targetLatency) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(MIN_STRENGTH);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int strength = MIN_STRENGTH;
+        long estimated = best;
+        while (strength < MAX_STRENGTH && estimated * 2 <= targetLatency.toNanos()) {
+            strength++;
+            estimated *= 2;
+        }
+
+        if (best > targetLatency.toNanos()) {
+            log.warn("BCrypt 最小强度 {} 的校验耗时 {} ms 已超过目标 {} ms", MIN_STRENGTH,
+                    Duration.ofNanos(best).toMillis(), targetLatency.toMillis());
+        }
+        log.info("BCrypt 强度校准完成: strength={}, 基准耗时={} ms, 预计校验耗时={} ms", strength,
+                Duration.ofNanos(best).toMillis(), Duration.ofNanos(estimated).toMillis());
+        return strength;
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,9 +31,36 @@ public class CustomUserDetails implements UserDetails {
     private final Integer status;
     private final Collection<? extends GrantedAuthority> authorities;
 
+    /**
+     * 用户角色ID（登录时加载，用于生成权限快照）
+     */
+    private final List<String> roleIds;
+
+    /**
+     * 用户角色名称（登录时加载）
+     */
+    private final List<String> roleNames;
+
+    /**
+     * 加载角色时的权限版本
+     */
+    private final long permissionVersion;
+
+    private final Instant createTime;
+    private final Instant updateTime;
+
     public CustomUserDetails(String id, String username, String password, String nickname,
                               String email, String phone, String avatar, Integer status,
                               List<String> roles, List<String> permissions) {
+        this(id, username, password, nickname, email, phone, avatar, status, roles, permissions,
+                List.of(), List.of(), 0L, null, null);
+    }
+
+    public CustomUserDetails(String id, String username, String password, String nickname,
+                              String email, String phone, String avatar, Integer status,
+                              List<String> roles, List<String> permissions,
+                              List<String> roleIds, List<String> roleNames, long permissionVersion,
+                              Instant createTime, Instant updateTime) {
         this.id = id;
         this.username = username;
         this.password = password;
@@ -66,6 +94,35 @@ public class CustomUserDetails implements UserDetails {
         }
 
         this.authorities = authorityList;
+        this.roleIds = roleIds;
+        this.roleNames = roleNames;
+        this.permissionVersion = permissionVersion;
+        this.createTime = createTime;
+        this.updateTime = updateTime;
+    }
+
+    /**
+     * 复制用户详情并替换密码哈希（密码重新编码后使用）
+     */
+    public CustomUserDetails withPassword(String newPassword) {
+        return new CustomUserDetails(this, newPassword);
+    }
+
+    private CustomUserDetails(CustomUserDetails source, String password) {
+        this.id = source.id;
+        this.username = source.username;
+        this.password = password;
+        this.nickname = source.nickname;
+        this.email = source.email;
+        this.phone = source.phone;
+        this.avatar = source.avatar;
+        this.status = source.status;
+        this.authorities = source.authorities;
+        this.roleIds = source.roleIds;
+        this.roleNames = source.roleNames;
+        this.permissionVersion = source.permissionVersion;
+        this.createTime = source.createTime;
+        this.updateTime = source.updateTime;
     }
 
     @Override
@@ -1,20 +1,20 @@
 package com.adminplus.security;
 
-import com.adminplus.entity.RoleEntity;
 import com.adminplus.entity.UserEntity;
-import com.adminplus.entity.UserRoleEntity;
 import com.adminplus.exception.BizException;
-import com.adminplus.repository.RoleRepository;
 import com.adminplus.repository.UserRepository;
 import com.adminplus.repository.UserRoleRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 自定义用户详情服务
@@ -22,13 +22,15 @@ import java.util.stream.Collectors;
  * @author AdminPlus
  * @since 2026-02-06
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
-    private final RoleRepository roleRepository;
+    private final PermissionSnapshotService permissionSnapshotService;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -40,20 +42,23 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new BizException("用户已被删除");
         }
 
-        // 查询用户的角色
-        List<UserRoleEntity> userRoles = userRoleRepository.findByUserId(user.getId());
-        List<String> roleIds = userRoles.stream()
-                .map(UserRoleEntity::getRoleId)
-                .toList();
+        // 先记录权限版本再查询角色，期间发生的权限变更会使快照版本落后，请求时重新解析
+        long permissionVersion = permissionSnapshotService.currentVersion();
 
-        // 批量查询角色
-        List<RoleEntity> roles = roleIds.isEmpty() ? List.of() : roleRepository.findAllById(roleIds);
-        List<String> roleCodes = roles.stream()
-                .filter(role -> role.getStatus() == 1)
-                .map(RoleEntity::getCode)
-                .collect(Collectors.toList());
+        // 一次关联查询用户的角色
+        List<UserRoleRepository.RoleRef> roles = userRoleRepository.findRolesByUserId(user.getId());
+        List<String> roleIds = new ArrayList<>(roles.size());
+        List<String> roleNames = new ArrayList<>(roles.size());
+        List<String> roleCodes = new ArrayList<>(roles.size());
+        for (UserRoleRepository.RoleRef role : roles) {
+            roleIds.add(role.getId());
+            roleNames.add(role.getName());
+            if (role.getStatus() != null && role.getStatus() == 1) {
+                roleCodes.add(role.getCode());
+            }
+        }
 
-        // 暂时不加载权限，权限在登录时通过 PermissionService 加载
+        // 暂时不加载权限，权限在登录时根据权限快照解析
         // 这里的 authorities 只包含角色，用于 Spring Security 的认证
         List<String> permissions = List.of();
 
@@ -67,7 +72,26 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.getAvatar(),
                 user.getStatus(),
                 roleCodes,
-                permissions
+                permissions,
+                List.copyOf(roleIds),
+                List.copyOf(roleNames),
+                permissionVersion,
+                user.getCreateTime(),
+                user.getUpdateTime()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * 登录成功后，存储的哈希强度不足或格式过时时以当前编码器重新编码
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        CustomUserDetails details = (CustomUserDetails) user;
+        userRepository.updatePassword(details.getId(), newPassword);
+        // 缓存中仍是旧哈希，清除后下次登录不会重复升级
+        userDetailsCache.removeUserFromCache(details.getUsername());
+        log.info("密码哈希已升级: userId={}", details.getId());
+        return details.withPassword(newPassword);
+    }
+}
@@ -0,0 +1,363 @@
+package com.adminplus.security;
+
+import com.adminplus.utils.WebUtils;
+import com.adminplus.vo.OnlineUserVO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 在线会话注册表
+ * 以 Access Token 的 jti 标识会话：Redis 有序集合按最后活跃时间排序，会话详情存放在哈希中，另按用户记录其会话集合；
+ * 登录、刷新、登出和心跳时更新，在线列表、在线人数和强制下线都只涉及有序集合上的 O(log n) 操作，不再扫描日志表。
+ * 本地镜像记录本节点最近写入的会话，间隔内的重复心跳只在本地更新，不再写 Redis
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class OnlineSessionRegistry {
+
+    // 会话 jti 按最后活跃时间（毫秒）排序
+    private static final String ONLINE_KEY = "session:online";
+
+    // 会话详情，字段为 jti
+    private static final String INFO_KEY = "session:info";
+
+    // 用户的会话集合键前缀
+    private static final String USER_KEY_PREFIX = "session:user:";
+
+    // 会话详情字段分隔符，用户名放在最后，其余字段不会包含该字符
+    private static final String SEPARATOR = "|";
+
+    // 每次清理的最大会话数
+    private static final int PURGE_BATCH_SIZE = 500;
+
+    // 过期会话清理间隔
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    // 本地镜像容量
+    private static final int MIRROR_MAX_SIZE = 100_000;
+
+    /**
+     * KEYS[1] 在线集合；KEYS[2] 会话详情；KEYS[3] 用户会话集合
+     * ARGV[1] jti；ARGV[2] 当前时间；ARGV[3] 会话详情；ARGV[4] 用户会话集合过期毫秒数；ARGV[5] 被替换的 jti（可为空）
+     */
+    private static final RedisScript<Long> REGISTER_SCRIPT = RedisScript.of("""
+            if ARGV[5] ~= '' then
+                redis.call('ZREM', KEYS[1], ARGV[5])
+                redis.call('HDEL', KEYS[2], ARGV[5])
+                redis.call('SREM', KEYS[3], ARGV[5])
+            end
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])
+            redis.call('SADD', KEYS[3], ARGV[1])
+            redis.call('PEXPIRE', KEYS[3], ARGV[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * 只更新仍然存在的会话，已下线或已过期清理的会话不会被心跳恢复
+     * KEYS[1] 在线集合；KEYS[2] 用户会话集合；ARGV[1] jti；ARGV[2] 当前时间；ARGV[3] 用户会话集合过期毫秒数
+     */
+    private static final RedisScript<Long> TOUCH_SCRIPT = RedisScript.of("""
+            if redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+                redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+                redis.call('PEXPIRE', KEYS[2], ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS[1] 在线集合；KEYS[2] 会话详情；KEYS[3] 用户会话集合；ARGV[1] jti
+     */
+    private static final RedisScript<Long> REMOVE_SCRIPT = RedisScript.of("""
+            redis.call('SREM', KEYS[3], ARGV[1])
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            return redis.call('ZREM', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    /**
+     * KEYS[1] 在线集合；KEYS[2] 会话详情；KEYS[3] 用户会话集合
+     */
+    private static final RedisScript<Long> REMOVE_USER_SCRIPT = RedisScript.of("""
+            local ids = redis.call('SMEMBERS', KEYS[3])
+            for _, id in ipairs(ids) do
+                redis.call('ZREM', KEYS[1], id)
+                redis.call('HDEL', KEYS[2], id)
+            end
+            redis.call('DEL', KEYS[3])
+            return #ids
+            """, Long.class);
+
+    /**
+     * KEYS[1] 在线集合；KEYS[2] 会话详情；ARGV[1] 截止时间；ARGV[2] 批量大小；ARGV[3] 用户会话集合键前缀
+     */
+    private static final RedisScript<Long> PURGE_SCRIPT = RedisScript.of("""
+            local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            for _, id in ipairs(ids) do
+                local info = redis.call('HGET', KEYS[2], id)
+                if info then
+                    redis.call('SREM', ARGV[3] .. string.match(info, '^[^|]*'), id)
+                end
+                redis.call('ZREM', KEYS[1], id)
+                redis.call('HDEL', KEYS[2], id)
+            end
+            return #ids
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration onlineTimeout;
+    private final Duration touchInterval;
+
+    /**
+     * 本地镜像：jti -> 最近一次写入 Redis 的时间（毫秒）
+     */
+    private final Cache<String, Long> mirror;
+
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    public OnlineSessionRegistry(StringRedisTemplate redisTemplate,
+                                 @Value("${session.online.timeout:5m}") Duration onlineTimeout,
+                                 @Value("${session.online.touch-interval:30s}") Duration touchInterval) {
+        this.redisTemplate = redisTemplate;
+        this.onlineTimeout = onlineTimeout;
+        this.touchInterval = touchInterval;
+        this.mirror = Caffeine.newBuilder()
+                .maximumSize(MIRROR_MAX_SIZE)
+                .expireAfterWrite(touchInterval)
+                .build();
+    }
+
+    /**
+     * 登录成功后登记会话，登录 IP 和客户端取自当前请求
+     *
+     * @param userId   用户ID
+     * @param username 用户名
+     * @param jti      Access Token 的 jti
+     */
+    public void register(String userId, String username, String jti) {
+        save(userId, jti, null, new SessionInfo(userId, System.currentTimeMillis(), username));
+    }
+
+    /**
+     * 刷新 Access Token 后将会话迁移到新的 jti，保留原会话的登录时间
+     *
+     * @param userId         用户ID
+     * @param previousJti    原 Access Token 的 jti，未知时为 null
+     * @param jti            新 Access Token 的 jti
+     * @param usernameLoader 原会话不存在时用于获取用户名
+     */
+    public void rotate(String userId, String previousJti, String jti, Supplier<String> usernameLoader) {
+        SessionInfo previous = null;
+        if (previousJti != null) {
+            mirror.invalidate(previousJti);
+            try {
+                Object value = redisTemplate.opsForHash().get(INFO_KEY, previousJti);
+                previous = value != null ? SessionInfo.parse((String) value) : null;
+            } catch (Exception e) {
+                log.warn("读取在线会话失败: userId={}, error={}", userId, e.getMessage());
+            }
+        }
+        SessionInfo info = previous != null && userId.equals(previous.userId())
+                ? new SessionInfo(userId, previous.loginTime(), previous.username())
+                : new SessionInfo(userId, System.currentTimeMillis(), usernameLoader.get());
+        save(userId, jti, previousJti, info);
+    }
+
+    /**
+     * 心跳：更新会话的最后活跃时间，距本节点上次写入不足 touch-interval 时直接返回
+     *
+     * @return 会话是否仍然在线
+     */
+    public boolean touch(String userId, String jti) {
+        long now = System.currentTimeMillis();
+        Long lastWritten = mirror.getIfPresent(jti);
+        if (lastWritten != null && now - lastWritten < touchInterval.toMillis()) {
+            return true;
+        }
+        Long touched = redisTemplate.execute(TOUCH_SCRIPT, List.of(ONLINE_KEY, USER_KEY_PREFIX + userId),
+                jti, String.valueOf(now), String.valueOf(onlineTimeout.toMillis()));
+        if (touched != null && touched == 1L) {
+            mirror.put(jti, now);
+            return true;
+        }
+        mirror.invalidate(jti);
+        return false;
+    }
+
+    /**
+     * 移除单个会话（登出）
+     */
+    public void remove(String userId, String jti) {
+        mirror.invalidate(jti);
+        try {
+            redisTemplate.execute(REMOVE_SCRIPT, List.of(ONLINE_KEY, INFO_KEY, USER_KEY_PREFIX + userId), jti);
+        } catch (Exception e) {
+            // 未能移除的会话会在超时后被清理
+            log.warn("移除在线会话失败: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 移除用户的所有会话（强制下线）
+     *
+     * @return 移除的会话数
+     */
+    public int removeUser(String userId) {
+        Long removed = redisTemplate.execute(REMOVE_USER_SCRIPT, List.of(ONLINE_KEY, INFO_KEY, USER_KEY_PREFIX + userId));
+        // 其他节点的镜像条目会在 touch-interval 内过期，被下线的 Token 已加入黑名单，期间的心跳不会通过认证
+        return removed != null ? removed.intValue() : 0;
+    }
+
+    /**
+     * 按最后活跃时间倒序列出在线会话
+     *
+     * @param limit 最大数量
+     */
+    public List<OnlineUserVO> listOnline(int limit) {
+        purgeExpiredIfDue();
+        long now = System.currentTimeMillis();
+        Set<ZSetOperations.TypedTuple<String>> sessions = redisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(ONLINE_KEY, now - onlineTimeout.toMillis(), Double.POSITIVE_INFINITY, 0, limit);
+        if (sessions == null || sessions.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> jtis = new ArrayList<>(sessions.size());
+        for (ZSetOperations.TypedTuple<String> session : sessions) {
+            jtis.add(session.getValue());
+        }
+        List<Object> details = redisTemplate.opsForHash().multiGet(INFO_KEY, jtis);
+
+        List<OnlineUserVO> result = new ArrayList<>(sessions.size());
+        int i = 0;
+        for (ZSetOperations.TypedTuple<String> session : sessions) {
+            Object detail = details.get(i++);
+            if (detail == null || session.getScore() == null) {
+                continue;
+            }
+            SessionInfo info = SessionInfo.parse((String) detail);
+            result.add(new OnlineUserVO(
+                    info.userId(),
+                    info.username(),
+                    info.ip(),
+                    Instant.ofEpochMilli(info.loginTime()),
+                    info.browser(),
+                    info.os(),
+                    Instant.ofEpochMilli(session.getScore().longValue())
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * 在线会话数
+     */
+    public long countOnline() {
+        Long count = redisTemplate.opsForZSet()
+                .count(ONLINE_KEY, System.currentTimeMillis() - onlineTimeout.toMillis(), Double.POSITIVE_INFINITY);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 清理超时未活跃的会话
+     *
+     * @return 清理的会话数
+     */
+    public int purgeExpired() {
+        String cutoff = String.valueOf(System.currentTimeMillis() - onlineTimeout.toMillis());
+        int total = 0;
+        Long purged;
+        do {
+            purged = redisTemplate.execute(PURGE_SCRIPT, List.of(ONLINE_KEY, INFO_KEY),
+                    cutoff, String.valueOf(PURGE_BATCH_SIZE), USER_KEY_PREFIX);
+            total += purged != null ? purged.intValue() : 0;
+        } while (purged != null && purged == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.debug("已清理过期在线会话: {}", total);
+        }
+        return total;
+    }
+
+    private void purgeExpiredIfDue() {
+        long now = System.currentTimeMillis();
+        long due = nextPurgeAt.get();
+        if (now < due || !nextPurgeAt.compareAndSet(due, now + PURGE_INTERVAL.toMillis())) {
+            return;
+        }
+        try {
+            purgeExpired();
+        } catch (Exception e) {
+            log.warn("清理过期在线会话失败: {}", e.getMessage());
+        }
+    }
+
+    private void save(String userId, String jti, String previousJti, SessionInfo info) {
+        long now = System.currentTimeMillis();
+        HttpServletRequest request = WebUtils.getCurrentRequest();
+        if (request != null) {
+            String userAgent = request.getHeader("User-Agent");
+            info = info.withClient(WebUtils.getClientIp(request), WebUtils.getBrowser(userAgent), WebUtils.getOs(userAgent));
+        }
+        try {
+            redisTemplate.execute(REGISTER_SCRIPT, List.of(ONLINE_KEY, INFO_KEY, USER_KEY_PREFIX + userId),
+                    jti, String.valueOf(now), info.format(), String.valueOf(onlineTimeout.toMillis()),
+                    previousJti != null ? previousJti : "");
+            mirror.put(jti, now);
+        } catch (Exception e) {
+            // 会话登记失败不影响登录，只是暂时不出现在在线列表中
+            log.warn("登记在线会话失败: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 会话详情，存储格式：userId|loginTime|ip|browser|os|username
+     */
+    private record SessionInfo(String userId, long loginTime, String ip, String browser, String os, String username) {
+
+        SessionInfo(String userId, long loginTime, String username) {
+            this(userId, loginTime, null, null, null, username);
+        }
+
+        SessionInfo withClient(String ip, String browser, String os) {
+            return new SessionInfo(userId, loginTime, ip, browser, os, username);
+        }
+
+        String format() {
+            return String.join(SEPARATOR, userId, String.valueOf(loginTime),
+                    sanitize(ip), sanitize(browser), sanitize(os), username != null ? username : "");
+        }
+
+        static SessionInfo parse(String value) {
+            String[] parts = value.split("\\|", 6);
+            return new SessionInfo(parts[0], Long.parseLong(parts[1]),
+                    emptyToNull(parts[2]), emptyToNull(parts[3]), emptyToNull(parts[4]), emptyToNull(parts[5]));
+        }
+
+        private static String sanitize(String value) {
+            // IP 来自请求头，去掉分隔符以免破坏格式
+            return value == null ? "" : value.replace(SEPARATOR, "");
+        }
+
+        private static String emptyToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.adminplus.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JWT 权限转换器
+ * 在 scope 角色之外，将 Token 中的权限快照展开为菜单权限标识符，不访问数据库
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public class PermissionAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    private final JwtGrantedAuthoritiesConverter scopeConverter;
+    private final PermissionSnapshotService permissionSnapshotService;
+
+    public PermissionAuthoritiesConverter(JwtGrantedAuthoritiesConverter scopeConverter,
+                                          PermissionSnapshotService permissionSnapshotService) {
+        this.scopeConverter = scopeConverter;
+        this.permissionSnapshotService = permissionSnapshotService;
+    }
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        Collection<GrantedAuthority> scopes = scopeConverter.convert(jwt);
+        List<String> permissions = permissionSnapshotService.resolvePermissions(jwt);
+
+        List<GrantedAuthority> authorities = new ArrayList<>(scopes.size() + permissions.size());
+        authorities.addAll(scopes);
+        for (String permission : permissions) {
+            authorities.add(new SimpleGrantedAuthority(permission));
+        }
+        return authorities;
+    }
+}
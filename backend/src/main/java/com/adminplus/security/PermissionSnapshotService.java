@@ -0,0 +1,221 @@
+package com.adminplus.security;
+
+import com.adminplus.cache.MenuTreeIndexHolder;
+import com.adminplus.entity.UserRoleEntity;
+import com.adminplus.repository.UserRoleRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 权限快照服务
+ * 登录时将用户的角色ID和权限版本写入 Access Token，请求时通过本地菜单树索引展开为权限，
+ * 只有权限版本变化（角色、菜单或授权发生变更）后才会重新查询用户角色
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PermissionSnapshotService implements MessageListener {
+
+    /**
+     * JWT 中的角色ID列表声明
+     */
+    public static final String CLAIM_ROLE_IDS = "roleIds";
+
+    /**
+     * JWT 中的权限版本声明
+     */
+    public static final String CLAIM_PERMISSION_VERSION = "permVersion";
+
+    // 全局权限版本 Redis 键
+    private static final String VERSION_KEY = "perm:version";
+
+    // 权限变更广播频道
+    private static final String CHANGE_CHANNEL = "perm:changed";
+
+    private final UserRoleRepository userRoleRepository;
+    private final MenuTreeIndexHolder menuTreeIndexHolder;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 本节点已知的权限版本
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 版本不一致时重新解析的用户角色（按用户缓存，版本变化后自动失效）
+     */
+    private final Cache<String, PermissionSnapshot> resolvedSnapshots = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(2))
+            .build();
+
+    /**
+     * 权限快照
+     *
+     * @param version 签发时的权限版本
+     * @param roleIds 用户角色ID列表
+     */
+    public record PermissionSnapshot(long version, List<String> roleIds) {
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            String stored = redisTemplate.opsForValue().get(VERSION_KEY);
+            if (stored != null) {
+                version.set(Long.parseLong(stored));
+            }
+        } catch (Exception e) {
+            log.warn("读取权限版本失败，使用本地版本: {}", e.getMessage());
+        }
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+    }
+
+    /**
+     * 当前权限版本
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * 加载用户的权限快照（先读取版本再查询角色，避免并发变更被漏掉）
+     */
+    public PermissionSnapshot loadSnapshot(String userId) {
+        long current = version.get();
+        List<String> roleIds = userRoleRepository.findByUserId(userId).stream()
+                .map(UserRoleEntity::getRoleId)
+                .toList();
+        PermissionSnapshot snapshot = new PermissionSnapshot(current, roleIds);
+        resolvedSnapshots.put(userId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * 使用已加载的角色生成权限快照（登录时角色已随用户详情一并查询）
+     *
+     * @param version 查询角色前读取的权限版本
+     */
+    public PermissionSnapshot snapshotOf(String userId, long version, List<String> roleIds) {
+        PermissionSnapshot snapshot = new PermissionSnapshot(version, roleIds);
+        resolvedSnapshots.put(userId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * 将权限快照写入 JWT 声明
+     */
+    public void writeClaims(JwtClaimsSet.Builder claims, PermissionSnapshot snapshot) {
+        claims.claim(CLAIM_ROLE_IDS, snapshot.roleIds())
+                .claim(CLAIM_PERMISSION_VERSION, snapshot.version());
+    }
+
+    /**
+     * 根据角色ID列表解析权限标识符（纯内存计算）
+     */
+    public List<String> permissionsOf(Collection<String> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) {
+            return List.of();
+        }
+        return menuTreeIndexHolder.get().grantedPermissions(roleIds);
+    }
+
+    /**
+     * 根据 JWT 中的权限快照解析权限标识符
+     * 版本一致时直接使用 Token 中的角色，否则重新解析（同一版本内每个用户只查询一次）
+     */
+    public List<String> resolvePermissions(Jwt jwt) {
+        String userId = jwt.getClaimAsString("userId");
+        if (userId == null) {
+            return List.of();
+        }
+
+        long current = version.get();
+        List<String> roleIds = jwt.getClaimAsStringList(CLAIM_ROLE_IDS);
+        Object tokenVersion = jwt.getClaim(CLAIM_PERMISSION_VERSION);
+        if (roleIds != null && tokenVersion instanceof Number number && number.longValue() == current) {
+            return permissionsOf(roleIds);
+        }
+
+        PermissionSnapshot snapshot = resolvedSnapshots.getIfPresent(userId);
+        if (snapshot == null || snapshot.version() != current) {
+            snapshot = loadSnapshot(userId);
+            log.debug("权限版本变化，重新解析用户角色: userId={}, version={}", userId, snapshot.version());
+        }
+        return permissionsOf(snapshot.roleIds());
+    }
+
+    /**
+     * 角色、菜单或授权关系发生变化
+     * 立即使本地菜单树索引失效，事务提交后递增全局权限版本并广播给其他节点
+     */
+    public void onPermissionChanged() {
+        menuTreeIndexHolder.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishVersion();
+                }
+            });
+        } else {
+            publishVersion();
+        }
+    }
+
+    /**
+     * 递增全局权限版本并广播
+     */
+    private void publishVersion() {
+        try {
+            Long next = redisTemplate.opsForValue().increment(VERSION_KEY);
+            long value = next != null ? next : version.get() + 1;
+            version.accumulateAndGet(value, Math::max);
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, String.valueOf(value));
+        } catch (Exception e) {
+            // Redis 不可用时至少保证本节点的版本前进
+            version.incrementAndGet();
+            log.warn("广播权限版本失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 收到其他节点的权限变更广播
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            long value = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (value > version.get()) {
+                version.accumulateAndGet(value, Math::max);
+                menuTreeIndexHolder.invalidate();
+                log.debug("收到权限变更广播: version={}", value);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("无效的权限变更消息");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.adminplus.security;
+
+import com.adminplus.service.TokenBlacklistService;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * JWT 撤销校验器
+ * 在签名和有效期校验之后，根据 jti 和签发时间检查 Token 是否已被撤销，复用解码器已解析的声明
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public class TokenRevocationValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2Error REVOKED = new OAuth2Error(
+            OAuth2ErrorCodes.INVALID_TOKEN, "Token 已被撤销，请重新登录", null);
+
+    private final TokenBlacklistService tokenBlacklistService;
+
+    public TokenRevocationValidator(TokenBlacklistService tokenBlacklistService) {
+        this.tokenBlacklistService = tokenBlacklistService;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        Object userId = jwt.getClaim("userId");
+        if (tokenBlacklistService.isTokenBlacklisted(jwt.getId(),
+                userId != null ? userId.toString() : null, jwt.getIssuedAt())) {
+            return OAuth2TokenValidatorResult.failure(REVOKED);
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
@@ -0,0 +1,143 @@
+package com.adminplus.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 登录用户详情缓存
+ * 按用户名短期缓存认证时加载的用户及其角色，重复登录时不再查询数据库；密码与缓存不符时认证提供者会重新加载再校验一次。
+ * 缓存条目记录加载时的权限版本，角色或授权变更使版本前进后自动失效；用户资料、状态或密码变更时按用户名清除，并广播给其他节点
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class UserDetailsCache implements UserCache, MessageListener {
+
+    // 失效广播频道
+    private static final String EVICT_CHANNEL = "auth:user-evict";
+
+    // 清空全部缓存的广播消息
+    private static final String EVICT_ALL = "*";
+
+    private final PermissionSnapshotService permissionSnapshotService;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<String, CustomUserDetails> cache;
+
+    public UserDetailsCache(PermissionSnapshotService permissionSnapshotService,
+                            StringRedisTemplate redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            @Value("${security.login.user-cache.ttl:5m}") Duration ttl,
+                            @Value("${security.login.user-cache.maximum-size:10000}") long maximumSize) {
+        this.permissionSnapshotService = permissionSnapshotService;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        CustomUserDetails details = cache.getIfPresent(username);
+        if (details == null) {
+            return null;
+        }
+        if (details.getPermissionVersion() != permissionSnapshotService.currentVersion()) {
+            cache.invalidate(username);
+            return null;
+        }
+        return details;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (user instanceof CustomUserDetails details) {
+            cache.put(details.getUsername(), details);
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * 用户资料、状态或密码发生变化，事务提交后清除该用户的缓存并通知其他节点
+     */
+    public void evict(String username) {
+        if (username != null) {
+            afterCommit(username);
+        }
+    }
+
+    /**
+     * 角色信息发生变化，事务提交后清空所有节点的缓存
+     */
+    public void evictAll() {
+        afterCommit(EVICT_ALL);
+    }
+
+    /**
+     * 收到其他节点的失效通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        apply(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void afterCommit(String target) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(target);
+                }
+            });
+        } else {
+            publish(target);
+        }
+    }
+
+    private void publish(String target) {
+        apply(target);
+        try {
+            redisTemplate.convertAndSend(EVICT_CHANNEL, target);
+        } catch (Exception e) {
+            // 其他节点的缓存会在过期后自动失效
+            log.warn("广播用户缓存失效失败: {}", e.getMessage());
+        }
+    }
+
+    private void apply(String target) {
+        if (EVICT_ALL.equals(target)) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(target);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.adminplus.service;
 
 import com.adminplus.dto.UserLoginReq;
 import com.adminplus.vo.LoginResp;
+import com.adminplus.vo.TokenRefreshResp;
 import com.adminplus.vo.UserVO;
 
 import java.util.List;
@@ -35,7 +36,14 @@ public interface AuthService {
     void logout();
 
     /**
-     * 刷新 Access Token
+     * 刷新 Access Token，同时轮换 Refresh Token
      */
-    String refreshAccessToken(String refreshToken);
+    TokenRefreshResp refreshAccessToken(String refreshToken);
+
+    /**
+     * 在线心跳，刷新当前会话的最后活跃时间；会话已超时移除时按当前凭证重新登记
+     *
+     * @return 当前会话是否在线
+     */
+    boolean heartbeat();
 }
\ No newline at end of file
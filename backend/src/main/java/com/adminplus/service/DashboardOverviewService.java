@@ -0,0 +1,19 @@
+package com.adminplus.service;
+
+import com.adminplus.vo.DashboardOverviewVO;
+
+/**
+ * Dashboard 概览服务接口
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public interface DashboardOverviewService {
+
+    /**
+     * 并发加载 Dashboard 所有组件，超时或失败的组件返回 null
+     *
+     * @return 概览数据
+     */
+    DashboardOverviewVO getOverview();
+}
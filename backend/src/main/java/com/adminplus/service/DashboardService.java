@@ -1,5 +1,6 @@
 package com.adminplus.service;
 
+import com.adminplus.constants.TimeGranularity;
 import com.adminplus.vo.*;
 
 import java.util.List;
@@ -26,6 +27,15 @@ public interface DashboardService {
      */
     ChartDataVO getUserGrowthData();
 
+    /**
+     * 获取指定时间范围和粒度的用户增长趋势数据
+     *
+     * @param days        统计最近多少天（包含今天）
+     * @param granularity 统计粒度
+     * @return 图表数据
+     */
+    ChartDataVO getUserGrowthData(int days, TimeGranularity granularity);
+
     /**
      * 获取角色分布数据
      *
@@ -1,5 +1,6 @@
 package com.adminplus.service;
 
+import com.adminplus.cache.MenuTreeIndexHolder;
 import com.adminplus.entity.*;
 import com.adminplus.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +33,7 @@ public class DataInitializationService implements CommandLineRunner {
     private final UserRoleRepository userRoleRepository;
     private final RoleMenuRepository roleMenuRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MenuTreeIndexHolder menuTreeIndexHolder;
 
     @Override
     @Transactional
@@ -60,6 +62,9 @@ public class DataInitializationService implements CommandLineRunner {
             // 初始化权限关联
             initializePermissions();
 
+            // 初始化数据写入了菜单和角色授权，使菜单树索引失效
+            menuTreeIndexHolder.invalidate();
+
             log.info("数据初始化完成！");
             
         } catch (Exception e) {
@@ -181,7 +186,15 @@ public class DataInitializationService implements CommandLineRunner {
             createMenu("30", "29", 1, "数据统计", "/analysis/statistics", "analysis/Statistics", "analysis:statistics:view", "TrendCharts", 1, 1, 1),
             
             // 报表管理
-            createMenu("31", "29", 1, "报表管理", "/analysis/report", "analysis/Report", "analysis:report:view", "DataAnalysis", 2, 1, 1)
+            createMenu("31", "29", 1, "报表管理", "/analysis/report", "analysis/Report", "analysis:report:view", "DataAnalysis", 2, 1, 1),
+
+            // 在线用户
+            createMenu("32", "1", 1, "在线用户", "/system/online", "system/Online", "online:query", "Monitor", 7, 1, 1),
+            createMenu("33", "32", 2, "强制下线", null, null, "online:logout", null, 1, 0, 1),
+
+            // 操作日志
+            createMenu("34", "1", 1, "操作日志", "/system/log", "system/Log", "log:query", "Tickets", 8, 1, 1),
+            createMenu("35", "34", 2, "导出日志", null, null, "log:export", null, 1, 0, 1)
         );
 
         menuRepository.saveAll(menus);
@@ -229,6 +242,12 @@ public class DataInitializationService implements CommandLineRunner {
             }
         }
 
+        // 强制下线会撤销其他用户的所有 Token，按钮权限只显式授予超级管理员
+        roleMenuRepository.save(createRoleMenu("1", "33"));
+
+        // 操作日志包含所有用户的操作记录，查询和导出只授予超级管理员
+        roleMenuRepository.save(createRoleMenu("1", "35"));
+
         // 部门经理权限
         List<String> managerMenuIds = Arrays.asList("27", "2", "3", "4", "5", "6", "7", "21", "22", "23", "24", "25", "26");
         for (String menuId : managerMenuIds) {
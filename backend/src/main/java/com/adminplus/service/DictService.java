@@ -2,6 +2,7 @@ package com.adminplus.service;
 
 import com.adminplus.dto.DictCreateReq;
 import com.adminplus.dto.DictUpdateReq;
+import com.adminplus.dto.PageQuery;
 import com.adminplus.vo.DictItemVO;
 import com.adminplus.vo.DictVO;
 import com.adminplus.vo.PageResultVO;
@@ -19,7 +20,7 @@ public interface DictService {
     /**
      * 分页查询字典列表
      */
-    PageResultVO<DictVO> getDictList(Integer page, Integer size, String keyword);
+    PageResultVO<DictVO> getDictList(PageQuery pageQuery, String keyword);
 
     /**
      * 根据ID查询字典
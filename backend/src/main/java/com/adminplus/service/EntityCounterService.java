@@ -0,0 +1,33 @@
+package com.adminplus.service;
+
+import com.adminplus.constants.CountedEntity;
+
+import java.util.Map;
+
+/**
+ * 实体计数服务接口
+ * 计数由各写入路径增量维护（事务提交后生效），并定期与数据库的实际数量校准，读取为 O(1)
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public interface EntityCounterService {
+
+    /**
+     * 调整计数；存在事务时在提交后生效，回滚则不生效
+     *
+     * @param entity 实体类型
+     * @param delta  变化量（新增为正，删除为负）
+     */
+    void increment(CountedEntity entity, long delta);
+
+    /**
+     * 获取所有实体的当前计数
+     */
+    Map<CountedEntity, Long> getCounts();
+
+    /**
+     * 与数据库的实际数量校准
+     */
+    void reconcile();
+}
@@ -0,0 +1,67 @@
+package com.adminplus.service;
+
+import com.adminplus.excel.ExportProgress;
+import com.adminplus.vo.ExportJobVO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 导出任务服务接口
+ * 导出在后台执行并写入临时文件，前端轮询进度，完成后再下载，避免长时间占用请求连接
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public interface ExportJobService {
+
+    /**
+     * 提交导出任务（当前用户同时执行的任务数受限）
+     *
+     * @param name 导出名称（同时作为下载文件名）
+     * @param task 导出逻辑
+     * @return 任务信息
+     */
+    ExportJobVO submit(String name, ExportTask task);
+
+    /**
+     * 查询当前用户的导出任务
+     */
+    ExportJobVO getJob(String id);
+
+    /**
+     * 查询当前用户的所有导出任务
+     */
+    List<ExportJobVO> listJobs();
+
+    /**
+     * 下载已完成的导出文件
+     */
+    void download(String id, HttpServletRequest request, HttpServletResponse response) throws IOException;
+
+    /**
+     * 清理超过保留时长的已结束任务及其文件（正在下载的文件留到下一次清理）
+     *
+     * @return 清理的任务数
+     */
+    int purgeExpired();
+
+    /**
+     * 导出逻辑
+     */
+    @FunctionalInterface
+    interface ExportTask {
+
+        /**
+         * 将导出内容写入输出流
+         *
+         * @param out      输出流
+         * @param progress 进度回调
+         * @return 导出的行数
+         */
+        long export(OutputStream out, ExportProgress progress) throws IOException;
+    }
+}
@@ -1,5 +1,14 @@
 package com.adminplus.service;
 
+import com.adminplus.dto.LogQueryReq;
+import com.adminplus.dto.PageQuery;
+import com.adminplus.excel.ExportProgress;
+import com.adminplus.vo.OperationLogVO;
+import com.adminplus.vo.PageResultVO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * 日志服务接口
  *
@@ -51,4 +60,23 @@ public interface LogService {
      */
     void log(String module, Integer operationType, String description,
              Integer status, String errorMsg);
-}
\ No newline at end of file
+
+    /**
+     * 分页查询操作日志（支持页码分页和游标分页）
+     *
+     * @param pageQuery 分页参数
+     * @param queryReq  筛选条件
+     * @return 操作日志分页结果
+     */
+    PageResultVO<OperationLogVO> getLogList(PageQuery pageQuery, LogQueryReq queryReq);
+
+    /**
+     * 按筛选条件导出操作日志到输出流
+     *
+     * @param out      输出流
+     * @param queryReq 筛选条件
+     * @param progress 进度回调
+     * @return 导出的行数
+     */
+    long exportLogs(OutputStream out, LogQueryReq queryReq, ExportProgress progress) throws IOException;
+}
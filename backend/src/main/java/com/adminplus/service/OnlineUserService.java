@@ -0,0 +1,37 @@
+package com.adminplus.service;
+
+import com.adminplus.vo.OnlineUserVO;
+
+import java.util.List;
+
+/**
+ * 在线用户服务接口
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public interface OnlineUserService {
+
+    /**
+     * 按最后活跃时间倒序列出在线会话
+     *
+     * @param limit 最大数量
+     * @return 在线会话列表
+     */
+    List<OnlineUserVO> getOnlineUsers(int limit);
+
+    /**
+     * 统计在线会话数
+     *
+     * @return 在线会话数
+     */
+    long countOnlineUsers();
+
+    /**
+     * 强制用户下线：撤销其所有 Token 并移除在线会话
+     *
+     * @param userId 用户ID
+     * @return 移除的会话数
+     */
+    int forceLogout(String userId);
+}
@@ -1,5 +1,7 @@
 package com.adminplus.service;
 
+import com.adminplus.vo.TokenRefreshResp;
+
 /**
  * Refresh Token 服务接口
  *
@@ -10,13 +12,16 @@ public interface RefreshTokenService {
 
     /**
      * 创建 Refresh Token
+     *
+     * @param userId     用户ID
+     * @param sessionJti 同时签发的 Access Token 的 jti
      */
-    String createRefreshToken(String userId);
+    String createRefreshToken(String userId, String sessionJti);
 
     /**
-     * 刷新 Access Token
+     * 刷新 Access Token，同时轮换 Refresh Token
      */
-    String refreshAccessToken(String refreshToken);
+    TokenRefreshResp refreshAccessToken(String refreshToken);
 
     /**
      * 撤销 Refresh Token
@@ -29,7 +34,7 @@ public interface RefreshTokenService {
     void revokeAllUserTokens(String userId);
 
     /**
-     * 清理过期的 Refresh Token
+     * 清理过期的 Refresh Token（Redis 存储按 TTL 自动过期）
      */
     void cleanupExpiredTokens();
 }
\ No newline at end of file
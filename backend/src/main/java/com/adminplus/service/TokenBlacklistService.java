@@ -1,7 +1,10 @@
 package com.adminplus.service;
 
+import java.time.Instant;
+
 /**
  * JWT Token 撤销服务接口
+ * 单个 Token 按 jti 撤销；用户的全部 Token 通过"撤销时间点"一次性撤销，签发时间不晚于该时间点的 Token 均失效
  *
  * @author AdminPlus
  * @since 2026-02-07
@@ -11,21 +14,24 @@ public interface TokenBlacklistService {
     /**
      * 将 Token 加入黑名单
      *
-     * @param token Token 字符串
-     * @param userId 用户ID
+     * @param jti       Token 唯一标识
+     * @param userId    用户ID
+     * @param expiresAt Token 过期时间，黑名单记录保留到此时间为止
      */
-    void blacklistToken(String token, String userId);
+    void blacklistToken(String jti, String userId, Instant expiresAt);
 
     /**
-     * 检查 Token 是否在黑名单中
+     * 检查 Token 是否已被撤销
      *
-     * @param token Token 字符串
-     * @return 是否在黑名单中
+     * @param jti      Token 唯一标识（旧 Token 可能为空）
+     * @param userId   用户ID
+     * @param issuedAt Token 签发时间
+     * @return 是否已被撤销
      */
-    boolean isTokenBlacklisted(String token);
+    boolean isTokenBlacklisted(String jti, String userId, Instant issuedAt);
 
     /**
-     * 将用户的所有 Token 加入黑名单（用户登出时）
+     * 撤销用户当前已签发的所有 Token（用户登出时）
      *
      * @param userId 用户ID
      */
@@ -35,4 +41,4 @@ public interface TokenBlacklistService {
      * 清理过期的黑名单记录
      */
     void cleanupExpiredTokens();
-}
\ No newline at end of file
+}
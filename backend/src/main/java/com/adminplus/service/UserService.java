@@ -1,11 +1,18 @@
 package com.adminplus.service;
 
+import com.adminplus.dto.PageQuery;
 import com.adminplus.dto.UserCreateReq;
+import com.adminplus.dto.UserQueryReq;
 import com.adminplus.dto.UserUpdateReq;
 import com.adminplus.entity.UserEntity;
+import com.adminplus.excel.ExcelImportResult;
+import com.adminplus.excel.ExportProgress;
 import com.adminplus.vo.UserVO;
 import com.adminplus.vo.PageResultVO;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -18,14 +25,14 @@ import java.util.concurrent.CompletableFuture;
 public interface UserService {
 
     /**
-     * 分页查询用户列表
+     * 分页查询用户列表（支持页码分页和游标分页，按关键字、状态和创建日期筛选）
      */
-    PageResultVO<UserVO> getUserList(Integer page, Integer size, String keyword);
+    PageResultVO<UserVO> getUserList(PageQuery pageQuery, UserQueryReq queryReq);
 
     /**
      * 异步分页查询用户列表（使用虚拟线程）
      */
-    CompletableFuture<PageResultVO<UserVO>> getUserListAsync(Integer page, Integer size, String keyword);
+    CompletableFuture<PageResultVO<UserVO>> getUserListAsync(PageQuery pageQuery, UserQueryReq queryReq);
 
     /**
      * 根据ID查询用户
@@ -76,4 +83,28 @@ public interface UserService {
      * 查询用户的角色ID列表
      */
     List<String> getUserRoleIds(String userId);
-}
\ No newline at end of file
+
+    /**
+     * 导出用户列表到输出流（游标读取 + 流式写出，内存占用与用户数无关）
+     *
+     * @return 导出的行数
+     */
+    long exportUsers(OutputStream out) throws IOException;
+
+    /**
+     * 导出用户列表到输出流，并报告导出进度
+     *
+     * @return 导出的行数
+     */
+    long exportUsers(OutputStream out, ExportProgress progress) throws IOException;
+
+    /**
+     * 从 Excel 批量导入用户（流式解析，分批校验和保存，单行失败不影响其他行）
+     *
+     * @param file            xlsx 文件
+     * @param initialPassword 导入用户的初始密码
+     * @param roleId          为导入用户分配的角色ID，为 null 时不分配角色
+     * @return 导入结果（含失败行明细）
+     */
+    ExcelImportResult importUsers(MultipartFile file, String initialPassword, String roleId) throws IOException;
+}
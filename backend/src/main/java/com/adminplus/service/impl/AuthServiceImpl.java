@@ -1,12 +1,12 @@
 package com.adminplus.service.impl;
 
 import com.adminplus.dto.UserLoginReq;
-import com.adminplus.entity.RoleEntity;
 import com.adminplus.entity.UserEntity;
-import com.adminplus.entity.UserRoleEntity;
 import com.adminplus.exception.BizException;
-import com.adminplus.repository.RoleRepository;
 import com.adminplus.repository.UserRoleRepository;
+import com.adminplus.security.CustomUserDetails;
+import com.adminplus.security.OnlineSessionRegistry;
+import com.adminplus.security.PermissionSnapshotService;
 import com.adminplus.constants.LogStatus;
 import com.adminplus.constants.OperationType;
 import com.adminplus.service.AuthService;
@@ -18,27 +18,26 @@ import com.adminplus.service.TokenBlacklistService;
 import com.adminplus.service.UserService;
 import com.adminplus.utils.SecurityUtils;
 import com.adminplus.vo.LoginResp;
+import com.adminplus.vo.TokenRefreshResp;
 import com.adminplus.vo.UserVO;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 /**
  * 认证服务实现
@@ -55,13 +54,14 @@ public class AuthServiceImpl implements AuthService {
     private final JwtEncoder jwtEncoder;
     private final UserService userService;
     private final UserRoleRepository userRoleRepository;
-    private final RoleRepository roleRepository;
     private final PermissionService permissionService;
     private final CaptchaService captchaService;
     private final TokenBlacklistService tokenBlacklistService;
     private final RefreshTokenService refreshTokenService;
     private final LogService logService;
     private final StringRedisTemplate redisTemplate;
+    private final PermissionSnapshotService permissionSnapshotService;
+    private final OnlineSessionRegistry onlineSessionRegistry;
 
     @Override
     public LoginResp login(UserLoginReq req) {
@@ -84,31 +84,28 @@ public class AuthServiceImpl implements AuthService {
                     new UsernamePasswordAuthenticationToken(req.username(), req.password())
             );
 
-            // 获取用户信息
-            UserEntity user = userService.getUserByUsername(req.username());
+            // 认证时已加载用户及其角色，直接复用，不再重复查询
+            CustomUserDetails user = (CustomUserDetails) authentication.getPrincipal();
+
+            // 生成权限快照（角色ID + 权限版本）
+            PermissionSnapshotService.PermissionSnapshot snapshot = permissionSnapshotService.snapshotOf(
+                    user.getId(), user.getPermissionVersion(), user.getRoleIds());
 
             // 生成 JWT Token（过期时间改为 2 小时）
             Instant now = Instant.now();
-            JwtClaimsSet claims = JwtClaimsSet.builder()
+            String jti = UUID.randomUUID().toString();
+            JwtClaimsSet.Builder claimsBuilder = JwtClaimsSet.builder()
                     .issuer("adminplus")
                     .issuedAt(now)
                     .expiresAt(now.plus(2, ChronoUnit.HOURS))  // 从 24 小时改为 2 小时
                     .subject(authentication.getName())
+                    .id(jti)
                     .claim("userId", user.getId())
                     .claim("username", user.getUsername())
-                    .claim("scope", "ROLE_USER")
-                    .build();
-
-            String token = jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+                    .claim("scope", "ROLE_USER");
+            permissionSnapshotService.writeClaims(claimsBuilder, snapshot);
 
-            // 查询用户角色
-            List<UserRoleEntity> userRoles = userRoleRepository.findByUserId(user.getId());
-            List<String> roleNames = userRoles.stream()
-                    .map(UserRoleEntity::getRoleId)
-                    .map(roleId -> roleRepository.findById(roleId).orElse(null))
-                    .filter(Objects::nonNull)
-                    .map(RoleEntity::getName)
-                    .collect(Collectors.toList());
+            String token = jwtEncoder.encode(JwtEncoderParameters.from(claimsBuilder.build())).getTokenValue();
 
             UserVO userVO = new UserVO(
                     user.getId(),
@@ -118,16 +115,19 @@ public class AuthServiceImpl implements AuthService {
                     user.getPhone(),
                     user.getAvatar(),
                     user.getStatus(),
-                    roleNames,
+                    user.getRoleNames(),
                     user.getCreateTime(),
                     user.getUpdateTime()
             );
 
-            // 查询用户权限
-            List<String> permissions = permissionService.getUserPermissions(user.getId());
+            // 根据权限快照解析用户权限（内存计算）
+            List<String> permissions = permissionSnapshotService.permissionsOf(snapshot.roleIds());
 
             // 生成 Refresh Token
-            String refreshToken = refreshTokenService.createRefreshToken(user.getId());
+            String refreshToken = refreshTokenService.createRefreshToken(user.getId(), jti);
+
+            // 登记在线会话
+            onlineSessionRegistry.register(user.getId(), user.getUsername(), jti);
 
             // 记录登录审计日志
             logService.log("认证管理", OperationType.OTHER, "用户登录成功: " + maskUsername(req.username()));
@@ -149,14 +149,10 @@ public class AuthServiceImpl implements AuthService {
     public UserVO getCurrentUser(String username) {
         UserEntity user = userService.getUserByUsername(username);
 
-        // 查询用户角色
-        List<UserRoleEntity> userRoles = userRoleRepository.findByUserId(user.getId());
-        List<String> roleNames = userRoles.stream()
-                .map(UserRoleEntity::getRoleId)
-                .map(roleId -> roleRepository.findById(roleId).orElse(null))
-                .filter(Objects::nonNull)
-                .map(RoleEntity::getName)
-                .collect(Collectors.toList());
+        // 一次关联查询用户角色
+        List<String> roleNames = userRoleRepository.findRolesByUserId(user.getId()).stream()
+                .map(UserRoleRepository.RoleRef::getName)
+                .toList();
 
         return new UserVO(
                 user.getId(),
@@ -188,26 +184,16 @@ public class AuthServiceImpl implements AuthService {
             // 撤销用户的所有 Refresh Token
             refreshTokenService.revokeAllUserTokens(userId);
 
-            // 获取当前请求
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                String authHeader = request.getHeader("Authorization");
-
-                // 将 Token 加入黑名单
-                if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                    String token = authHeader.substring(7);
-                    tokenBlacklistService.blacklistToken(token, userId);
-                    log.info("用户登出，Token 已加入黑名单: userId={}", userId);
-                } else {
-                    // 如果没有 Token，将用户的所有 Token 加入黑名单
-                    tokenBlacklistService.blacklistAllUserTokens(userId);
-                    log.info("用户登出，所有 Token 已加入黑名单: userId={}", userId);
-                }
+            // 当前 Token 按 jti 加入黑名单；无法获取当前 Token 时撤销用户的所有 Token
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt && jwt.getId() != null) {
+                tokenBlacklistService.blacklistToken(jwt.getId(), userId, jwt.getExpiresAt());
+                onlineSessionRegistry.remove(userId, jwt.getId());
+                log.info("用户登出，Token 已加入黑名单: userId={}", userId);
             } else {
-                // 如果无法获取请求，将用户的所有 Token 加入黑名单
                 tokenBlacklistService.blacklistAllUserTokens(userId);
-                log.info("用户登出，所有 Token 已加入黑名单: userId={}", userId);
+                onlineSessionRegistry.removeUser(userId);
+                log.info("用户登出，所有 Token 已撤销: userId={}", userId);
             }
 
             // 记录登出审计日志
@@ -220,10 +206,31 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public String refreshAccessToken(String refreshToken) {
+    public TokenRefreshResp refreshAccessToken(String refreshToken) {
         return refreshTokenService.refreshAccessToken(refreshToken);
     }
 
+    @Override
+    public boolean heartbeat() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt) || jwt.getId() == null) {
+            return false;
+        }
+        String userId = SecurityUtils.getCurrentUserId();
+        if (onlineSessionRegistry.touch(userId, jwt.getId())) {
+            return true;
+        }
+
+        // 会话已超时移出在线列表但 Access Token 仍然有效（登出和强制下线都会先吊销 Token），按当前凭证重新登记
+        String username = jwt.getClaimAsString("username");
+        if (username == null) {
+            username = userService.getUserById(userId).username();
+        }
+        onlineSessionRegistry.register(userId, username, jwt.getId());
+        log.info("心跳时会话已过期，重新登记在线会话: userId={}", userId);
+        return true;
+    }
+
     /**
      * 隐藏用户名敏感信息
      */
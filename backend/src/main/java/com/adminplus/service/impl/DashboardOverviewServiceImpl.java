@@ -0,0 +1,142 @@
+package com.adminplus.service.impl;
+
+import com.adminplus.service.DashboardOverviewService;
+import com.adminplus.service.DashboardService;
+import com.adminplus.vo.DashboardOverviewVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dashboard 概览服务实现
+ * 每个组件在独立的虚拟线程中加载（携带调用方的 SecurityContext），页面耗时取决于最慢的组件而不是各组件之和。
+ * 执行器的生命周期限定在一次请求内，返回前会中断仍未完成的组件；中断无法终止正在执行的 SQL，
+ * 因此查询数据库的组件在只读事务中执行，事务超时取请求截止前的剩余时间（向上取整到秒），
+ * 超时后由 JDBC 驱动取消语句并归还连接，组件占用连接的时间不会超过截止时间太多
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class DashboardOverviewServiceImpl implements DashboardOverviewService {
+
+    private final DashboardService dashboardService;
+    private final PlatformTransactionManager transactionManager;
+    private final Duration widgetTimeout;
+
+    public DashboardOverviewServiceImpl(DashboardService dashboardService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${dashboard.overview.widget-timeout:3s}") Duration widgetTimeout) {
+        this.dashboardService = dashboardService;
+        this.transactionManager = transactionManager;
+        this.widgetTimeout = widgetTimeout;
+    }
+
+    @Override
+    public DashboardOverviewVO getOverview() {
+        // 通过代理调用 DashboardService，保留各组件自身的缓存
+        ExecutorService executor = new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+        try {
+            Widgets widgets = new Widgets(executor, transactionManager, System.nanoTime() + widgetTimeout.toNanos());
+            var stats = widgets.forkQuery("stats", dashboardService::getStats);
+            var userGrowth = widgets.forkQuery("userGrowth", dashboardService::getUserGrowthData);
+            var roleDistribution = widgets.forkQuery("roleDistribution", dashboardService::getRoleDistributionData);
+            var menuDistribution = widgets.forkQuery("menuDistribution", dashboardService::getMenuDistributionData);
+            var recentLogs = widgets.forkQuery("recentLogs", dashboardService::getRecentOperationLogs);
+            var onlineUsers = widgets.fork("onlineUsers", dashboardService::getOnlineUsers);
+            var systemInfo = widgets.fork("systemInfo", dashboardService::getSystemInfo);
+
+            return new DashboardOverviewVO(
+                    widgets.join(stats),
+                    widgets.join(userGrowth),
+                    widgets.join(roleDistribution),
+                    widgets.join(menuDistribution),
+                    widgets.join(recentLogs),
+                    widgets.join(onlineUsers),
+                    widgets.join(systemInfo),
+                    List.copyOf(widgets.unavailable)
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 一次概览请求中的组件集合，所有组件共用同一截止时间
+     */
+    private static final class Widgets {
+
+        private final ExecutorService executor;
+        private final PlatformTransactionManager transactionManager;
+        private final long deadlineNanos;
+        private final List<String> unavailable = new ArrayList<>();
+
+        private Widgets(ExecutorService executor, PlatformTransactionManager transactionManager, long deadlineNanos) {
+            this.executor = executor;
+            this.transactionManager = transactionManager;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        <T> Widget<T> fork(String name, Callable<T> loader) {
+            return new Widget<>(name, executor.submit(loader));
+        }
+
+        /**
+         * 在只读事务中加载组件，组件内的 JPA 查询和 JDBC 语句都带有截止前剩余时间的超时
+         */
+        <T> Widget<T> forkQuery(String name, Callable<T> loader) {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            long remainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+            template.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999L)));
+            return fork(name, () -> template.execute(status -> {
+                try {
+                    return loader.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+
+        /**
+         * 等待组件加载完成，超时或失败时取消该组件并返回 null
+         */
+        <T> T join(Widget<T> widget) {
+            Future<T> future = widget.future();
+            try {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                return future.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Dashboard 组件加载超时: {}", widget.name());
+            } catch (ExecutionException e) {
+                log.warn("Dashboard 组件加载失败: {}", widget.name(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Dashboard 组件加载被中断: {}", widget.name());
+            }
+            future.cancel(true);
+            unavailable.add(widget.name());
+            return null;
+        }
+    }
+
+    private record Widget<T>(String name, Future<T> future) {
+    }
+}
@@ -1,30 +1,32 @@
 package com.adminplus.service.impl;
 
+import com.adminplus.constants.CountedEntity;
+import com.adminplus.constants.TimeGranularity;
+import com.adminplus.entity.BaseEntity;
 import com.adminplus.entity.LogEntity;
-import com.adminplus.entity.MenuEntity;
-import com.adminplus.entity.RoleEntity;
 import com.adminplus.entity.UserEntity;
-import com.adminplus.entity.UserRoleEntity;
+import com.adminplus.exception.BizException;
 import com.adminplus.repository.LogRepository;
 import com.adminplus.repository.MenuRepository;
-import com.adminplus.repository.RoleRepository;
-import com.adminplus.repository.UserRepository;
+import com.adminplus.repository.TimeSeriesRepository;
 import com.adminplus.repository.UserRoleRepository;
+import com.adminplus.security.OnlineSessionRegistry;
 import com.adminplus.service.DashboardService;
+import com.adminplus.service.EntityCounterService;
 import com.adminplus.vo.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.OperatingSystemMXBean;
-import java.time.Instant;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -38,74 +40,102 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
-    private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
     private final MenuRepository menuRepository;
     private final LogRepository logRepository;
     private final UserRoleRepository userRoleRepository;
+    private final TimeSeriesRepository timeSeriesRepository;
+    private final EntityCounterService entityCounterService;
+    private final OnlineSessionRegistry onlineSessionRegistry;
 
-    @Override
-    public DashboardStatsVO getStats() {
-        log.debug("获取 Dashboard 统计数据");
+    // 默认趋势天数
+    private static final int DEFAULT_TREND_DAYS = 7;
+
+    // 趋势统计最大天数
+    private static final int MAX_TREND_DAYS = 3660;
 
-        // 统计用户数（未删除的）
-        long userCount = userRepository.countByDeletedFalse();
+    // 单个趋势图最多时间桶数
+    private static final int MAX_TREND_BUCKETS = 1000;
 
-        // 统计角色数（未删除的）
-        long roleCount = roleRepository.countByDeletedFalse();
+    // Dashboard 展示的在线用户数
+    private static final int DASHBOARD_ONLINE_USER_LIMIT = 10;
 
-        // 统计菜单数（未删除的）
-        long menuCount = menuRepository.countByDeletedFalse();
+    @Override
+    public DashboardStatsVO getStats() {
+        log.debug("获取 Dashboard 统计数据");
 
-        // 统计日志数（未删除���）
-        long logCount = logRepository.countByDeletedFalse();
+        // 计数由写入路径增量维护并定期校准，不再逐表 COUNT
+        Map<CountedEntity, Long> counts = entityCounterService.getCounts();
 
-        return new DashboardStatsVO(userCount, roleCount, menuCount, logCount);
+        return new DashboardStatsVO(
+                counts.get(CountedEntity.USER),
+                counts.get(CountedEntity.ROLE),
+                counts.get(CountedEntity.MENU),
+                counts.get(CountedEntity.LOG)
+        );
     }
 
     @Override
     public ChartDataVO getUserGrowthData() {
-        log.debug("获取用户增长趋势数据 - 开始");
+        return getUserGrowthData(DEFAULT_TREND_DAYS, TimeGranularity.DAY);
+    }
+
+    @Override
+    public ChartDataVO getUserGrowthData(int days, TimeGranularity granularity) {
+        log.debug("获取用户增长趋势数据 - 开始, days={}, granularity={}", days, granularity);
 
-        // 获取最近7天的日期
-        List<String> dates = new ArrayList<>();
-        List<Long> values = new ArrayList<>();
+        if (days < 1 || days > MAX_TREND_DAYS) {
+            throw new BizException("统计天数必须在 1 到 " + MAX_TREND_DAYS + " 之间");
+        }
 
-        LocalDate today = LocalDate.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
+        // 最后一个时间桶包含当前时间，第一个时间桶包含 days 天前的零点
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime now = LocalDateTime.now(zone);
+        LocalDateTime end = granularity.next(granularity.truncate(now));
+        LocalDateTime start = granularity.truncate(now.toLocalDate().minusDays(days - 1L).atStartOfDay());
 
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = today.minusDays(i);
-            dates.add(date.format(formatter));
+        ChartDataVO data = buildTimeSeries(UserEntity.class, granularity, start, end, zone);
+        log.debug("获取用户增长趋势数据 - 完成, 时间桶数: {}", data.labels().size());
+        return data;
+    }
 
-            // 统计当天创建的用户数
-            Instant startOfDay = date.atStartOfDay(ZoneId.systemDefault()).toInstant();
-            Instant endOfDay = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-            long count = userRepository.countByCreateTimeBetweenAndDeletedFalse(startOfDay, endOfDay);
-            values.add(count);
-            log.debug("日期: {}, 新增用户数: {}", date, count);
+    /**
+     * 按 create_time 分桶统计实体数量，一次查询覆盖整个区间，没有数据的时间桶补 0
+     */
+    private ChartDataVO buildTimeSeries(Class<? extends BaseEntity> entityClass, TimeGranularity granularity,
+                                        LocalDateTime start, LocalDateTime end, ZoneId zone) {
+        List<LocalDateTime> buckets = new ArrayList<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = granularity.next(bucket)) {
+            if (buckets.size() >= MAX_TREND_BUCKETS) {
+                throw new BizException("统计时间范围过大，请选择更粗的统计粒度");
+            }
+            buckets.add(bucket);
         }
 
-        log.debug("获取用户增长趋势数据 - 完成, 日期数: {}, 值数: {}", dates.size(), values.size());
-        return new ChartDataVO(dates, values);
+        Map<LocalDateTime, Long> counts = timeSeriesRepository.countByCreateTime(entityClass, granularity,
+                start.atZone(zone).toInstant(), end.atZone(zone).toInstant(), zone);
+
+        List<String> labels = new ArrayList<>(buckets.size());
+        List<Long> values = new ArrayList<>(buckets.size());
+        for (LocalDateTime bucket : buckets) {
+            labels.add(granularity.format(bucket));
+            values.add(counts.getOrDefault(bucket, 0L));
+        }
+        return new ChartDataVO(labels, values);
     }
 
     @Override
+    @Cacheable(value = "dashboardStats", key = "'role-distribution'")
     public ChartDataVO getRoleDistributionData() {
         log.debug("获取角色分布数据 - 开始");
 
-        List<String> roleNames = new ArrayList<>();
-        List<Long> userCounts = new ArrayList<>();
+        // 一次分组查询统计所有角色的用户数
+        List<UserRoleRepository.NamedCount> rows = userRoleRepository.countUsersGroupByRole();
 
-        // 获取所有角色及其用户数
-        List<RoleEntity> roles = roleRepository.findByDeletedFalse();
-        log.debug("找到角色数: {}", roles.size());
-
-        for (RoleEntity role : roles) {
-            roleNames.add(role.getName());
-            List<UserRoleEntity> userRoles = userRoleRepository.findByRoleId(role.getId());
-            userCounts.add((long) userRoles.size());
-            log.debug("角色: {}, 用户数: {}", role.getName(), userRoles.size());
+        List<String> roleNames = new ArrayList<>(rows.size());
+        List<Long> userCounts = new ArrayList<>(rows.size());
+        for (UserRoleRepository.NamedCount row : rows) {
+            roleNames.add(row.getName());
+            userCounts.add(row.getTotal());
         }
 
         log.debug("获取角色分布数据 - 完成, 角色数: {}", roleNames.size());
@@ -113,24 +143,24 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Cacheable(value = "dashboardStats", key = "'menu-distribution'")
     public ChartDataVO getMenuDistributionData() {
         log.debug("获取菜单类型分布数据 - 开始");
 
         List<String> types = List.of("目录", "菜单", "按钮");
-        List<Long> counts = new ArrayList<>();
-
-        // 统计各类型菜单数量
-        long directoryCount = menuRepository.countByTypeAndDeletedFalse(0);
-        long menuCount = menuRepository.countByTypeAndDeletedFalse(1);
-        long buttonCount = menuRepository.countByTypeAndDeletedFalse(2);
 
-        counts.add(directoryCount);
-        counts.add(menuCount);
-        counts.add(buttonCount);
+        // 一次分组查询统计各类型菜单数量（类型 0=目录，1=菜单，2=按钮）
+        long[] counts = new long[types.size()];
+        for (MenuRepository.TypeCount row : menuRepository.countGroupByType()) {
+            Integer type = row.getType();
+            if (type != null && type >= 0 && type < counts.length) {
+                counts[type] = row.getTotal();
+            }
+        }
 
         log.debug("获取菜单类型分布数据 - 完成, 目录: {}, 菜单: {}, 按钮: {}",
-                 directoryCount, menuCount, buttonCount);
-        return new ChartDataVO(types, counts);
+                 counts[0], counts[1], counts[2]);
+        return new ChartDataVO(types, List.of(counts[0], counts[1], counts[2]));
     }
 
     @Override
@@ -195,24 +225,6 @@ public class DashboardServiceImpl implements DashboardService {
     @Override
     public List<OnlineUserVO> getOnlineUsers() {
         log.debug("获取在线用户列表");
-
-        // 获取最近登录的用户（模拟在线用户）
-        List<LogEntity> recentLogs = logRepository.findTop10ByStatusAndDeletedFalseOrderByCreateTimeDesc(1);
-
-        List<OnlineUserVO> result = new ArrayList<>();
-        for (LogEntity log : recentLogs) {
-            if (log.getUserId() != null) {
-                result.add(new OnlineUserVO(
-                        log.getUserId(),
-                        log.getUsername(),
-                        log.getIp(),
-                        log.getCreateTime(),
-                        log.getBrowser(),
-                        log.getOs()
-                ));
-            }
-        }
-
-        return result;
+        return onlineSessionRegistry.listOnline(DASHBOARD_ONLINE_USER_LIMIT);
     }
-}
\ No newline at end of file
+}
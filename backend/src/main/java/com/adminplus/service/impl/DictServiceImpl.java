@@ -3,10 +3,12 @@ package com.adminplus.service.impl;
 import com.adminplus.constants.OperationType;
 import com.adminplus.dto.DictCreateReq;
 import com.adminplus.dto.DictUpdateReq;
+import com.adminplus.dto.PageQuery;
 import com.adminplus.entity.DictEntity;
 import com.adminplus.exception.BizException;
 import com.adminplus.repository.DictItemRepository;
 import com.adminplus.repository.DictRepository;
+import com.adminplus.repository.KeysetPaginator;
 import com.adminplus.service.DictService;
 import com.adminplus.service.LogService;
 import com.adminplus.vo.DictItemVO;
@@ -17,9 +19,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,13 +41,12 @@ public class DictServiceImpl implements DictService {
     private final DictRepository dictRepository;
     private final DictItemRepository dictItemRepository;
     private final LogService logService;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
     @Transactional(readOnly = true)
     // @Cacheable(value = "dict", key = "'list:' + #page + ':' + #size + ':' + (#keyword != null ? #keyword : '')")
-    public PageResultVO<DictVO> getDictList(Integer page, Integer size, String keyword) {
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by("createTime").descending());
-
+    public PageResultVO<DictVO> getDictList(PageQuery pageQuery, String keyword) {
         Specification<DictEntity> spec = (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(cb.equal(root.get("deleted"), false));
@@ -63,17 +61,9 @@ public class DictServiceImpl implements DictService {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
 
-        var pageResult = dictRepository.findAll(spec, pageable);
-        var records = pageResult.getContent().stream()
-                .map(this::toVO)
-                .toList();
-
-        return new PageResultVO<>(
-                records,
-                pageResult.getTotalElements(),
-                pageResult.getNumber() + 1,
-                pageResult.getSize()
-        );
+        boolean filtered = keyword != null && !keyword.isEmpty();
+        return keysetPaginator.find(dictRepository, DictEntity.class, spec, filtered, pageQuery)
+                .map(this::toVO);
     }
 
     @Override
@@ -0,0 +1,170 @@
+package com.adminplus.service.impl;
+
+import com.adminplus.constants.CountedEntity;
+import com.adminplus.repository.LogRepository;
+import com.adminplus.repository.MenuRepository;
+import com.adminplus.repository.RoleRepository;
+import com.adminplus.repository.UserRepository;
+import com.adminplus.service.EntityCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 实体计数服务实现
+ * 计数保存在 Redis 哈希中，各节点通过 HINCRBY 增量更新，读取只需一次 HMGET；
+ * 读取时发现距上次校准超过 reconcile-interval，则在后台重新统计数据库的实际数量，
+ * 修正异常中断或未经写入路径（如直接执行 SQL、删除日志分区）造成的偏差；Redis 不可用时直接查询数据库
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class EntityCounterServiceImpl implements EntityCounterService {
+
+    private static final String COUNTERS_KEY = "stats:entity-counts";
+    private static final String RECONCILED_AT_FIELD = "reconciled-at";
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final MenuRepository menuRepository;
+    private final LogRepository logRepository;
+    private final Executor asyncExecutor;
+    private final Duration reconcileInterval;
+
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+
+    public EntityCounterServiceImpl(StringRedisTemplate redisTemplate,
+                                    UserRepository userRepository,
+                                    RoleRepository roleRepository,
+                                    MenuRepository menuRepository,
+                                    LogRepository logRepository,
+                                    @Qualifier("asyncExecutor") Executor asyncExecutor,
+                                    @Value("${stats.counter.reconcile-interval:10m}") Duration reconcileInterval) {
+        this.redisTemplate = redisTemplate;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.menuRepository = menuRepository;
+        this.logRepository = logRepository;
+        this.asyncExecutor = asyncExecutor;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    @Override
+    public void increment(CountedEntity entity, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(entity, delta);
+                }
+            });
+        } else {
+            apply(entity, delta);
+        }
+    }
+
+    @Override
+    public Map<CountedEntity, Long> getCounts() {
+        try {
+            List<Object> fields = new ArrayList<>();
+            for (CountedEntity entity : CountedEntity.values()) {
+                fields.add(entity.field());
+            }
+            fields.add(RECONCILED_AT_FIELD);
+            List<Object> values = redisTemplate.opsForHash().multiGet(COUNTERS_KEY, fields);
+
+            if (values.contains(null)) {
+                // 首次使用或计数已丢失，同步校准一次
+                return reconcileAndGet();
+            }
+            if (System.currentTimeMillis() - Long.parseLong((String) values.getLast()) > reconcileInterval.toMillis()) {
+                reconcileInBackground();
+            }
+
+            Map<CountedEntity, Long> counts = new EnumMap<>(CountedEntity.class);
+            for (CountedEntity entity : CountedEntity.values()) {
+                // 并发的增量和校准可能短暂产生负数
+                counts.put(entity, Math.max(0, Long.parseLong((String) values.get(entity.ordinal()))));
+            }
+            return counts;
+        } catch (Exception e) {
+            log.warn("读取实体计数失败，改为直接统计: {}", e.getMessage());
+            return countFromDatabase();
+        }
+    }
+
+    @Override
+    public void reconcile() {
+        reconcileAndGet();
+    }
+
+    private Map<CountedEntity, Long> reconcileAndGet() {
+        Map<CountedEntity, Long> counts = countFromDatabase();
+        Map<String, String> hash = new HashMap<>();
+        counts.forEach((entity, count) -> hash.put(entity.field(), String.valueOf(count)));
+        hash.put(RECONCILED_AT_FIELD, String.valueOf(System.currentTimeMillis()));
+        redisTemplate.opsForHash().putAll(COUNTERS_KEY, hash);
+        log.debug("实体计数已校准: {}", counts);
+        return counts;
+    }
+
+    /**
+     * 在后台校准，同一节点同时只运行一次
+     */
+    private void reconcileInBackground() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            asyncExecutor.execute(() -> {
+                try {
+                    reconcileAndGet();
+                } catch (Exception e) {
+                    log.warn("实体计数校准失败: {}", e.getMessage());
+                } finally {
+                    reconciling.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            reconciling.set(false);
+            throw e;
+        }
+    }
+
+    private Map<CountedEntity, Long> countFromDatabase() {
+        Map<CountedEntity, Long> counts = new EnumMap<>(CountedEntity.class);
+        counts.put(CountedEntity.USER, userRepository.countByDeletedFalse());
+        counts.put(CountedEntity.ROLE, roleRepository.countByDeletedFalse());
+        counts.put(CountedEntity.MENU, menuRepository.countByDeletedFalse());
+        counts.put(CountedEntity.LOG, logRepository.countByDeletedFalse());
+        return counts;
+    }
+
+    private void apply(CountedEntity entity, long delta) {
+        try {
+            redisTemplate.opsForHash().increment(COUNTERS_KEY, entity.field(), delta);
+        } catch (Exception e) {
+            // 计数丢失的增量由下一次校准修正
+            log.warn("更新实体计数失败: entity={}, delta={}, error={}", entity, delta, e.getMessage());
+        }
+    }
+}
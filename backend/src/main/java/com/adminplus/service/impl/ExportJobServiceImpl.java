@@ -0,0 +1,331 @@
+package com.adminplus.service.impl;
+
+import com.adminplus.constants.ExportJobStatus;
+import com.adminplus.excel.ExportProgress;
+import com.adminplus.exception.BizException;
+import com.adminplus.service.ExportJobService;
+import com.adminplus.utils.ExcelUtils;
+import com.adminplus.utils.SecurityUtils;
+import com.adminplus.vo.ExportJobVO;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 导出任务服务实现
+ * 任务在虚拟线程执行器上运行，结果写入本地临时文件，保留 retention 时长后由定时任务删除；
+ * 下载时优先交给 Tomcat sendfile 发送，不支持时使用 FileChannel.transferTo。
+ * 下载期间持有任务文件的引用，清理时跳过仍被引用的文件；sendfile 在请求处理结束后才读取文件，
+ * 因此交给 sendfile 的文件额外保留 SENDFILE_GRACE 时长
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // 交给 sendfile 发送的文件在清理前至少保留的时长
+    private static final Duration SENDFILE_GRACE = Duration.ofMinutes(10);
+
+    private final Executor asyncExecutor;
+    private final Path directory;
+    private final int maxConcurrentPerUser;
+    private final Duration retention;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    public ExportJobServiceImpl(@Qualifier("asyncExecutor") Executor asyncExecutor,
+                                @Value("${export-job.directory:${java.io.tmpdir}/adminplus-export}") Path directory,
+                                @Value("${export-job.max-concurrent-per-user:2}") int maxConcurrentPerUser,
+                                @Value("${export-job.retention:30m}") Duration retention) throws IOException {
+        this.asyncExecutor = asyncExecutor;
+        this.directory = Files.createDirectories(directory);
+        this.maxConcurrentPerUser = maxConcurrentPerUser;
+        this.retention = retention;
+    }
+
+    @Override
+    public ExportJobVO submit(String name, ExportTask task) {
+        String userId = SecurityUtils.getCurrentUserId();
+
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), userId, name);
+        submitLock.lock();
+        try {
+            long running = jobs.values().stream()
+                    .filter(existing -> existing.ownerId.equals(userId) && existing.status.isActive())
+                    .count();
+            if (running >= maxConcurrentPerUser) {
+                throw new BizException("导出任务过多，请等待当前任务完成后再试（最多同时执行 " + maxConcurrentPerUser + " 个）");
+            }
+            jobs.put(job.id, job);
+        } finally {
+            submitLock.unlock();
+        }
+
+        try {
+            // 传递当前用户的 SecurityContext，导出过程中的审计日志仍能记录操作人
+            asyncExecutor.execute(new DelegatingSecurityContextRunnable(() -> execute(job, task)));
+        } catch (RejectedExecutionException e) {
+            job.fail("导出任务提交失败");
+            throw new BizException("导出任务提交失败，请稍后再试");
+        }
+        log.info("导出任务已提交: id={}, name={}, userId={}", job.id, name, userId);
+        return job.toVO();
+    }
+
+    @Override
+    public ExportJobVO getJob(String id) {
+        return getOwnedJob(id).toVO();
+    }
+
+    @Override
+    public List<ExportJobVO> listJobs() {
+        String userId = SecurityUtils.getCurrentUserId();
+        return jobs.values().stream()
+                .filter(job -> job.ownerId.equals(userId))
+                .sorted(Comparator.comparing((ExportJob job) -> job.createTime).reversed())
+                .map(ExportJob::toVO)
+                .toList();
+    }
+
+    @Override
+    public void download(String id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ExportJob job = getOwnedJob(id);
+        if (job.status != ExportJobStatus.SUCCESS) {
+            throw new BizException("导出任务尚未完成");
+        }
+        if (!job.acquire()) {
+            throw new BizException("导出任务不存在或已过期");
+        }
+        try {
+            Path file = job.file;
+            long size = job.fileSize;
+
+            ExcelUtils.prepareResponse(response, job.name);
+            response.setContentLengthLong(size);
+
+            // Tomcat 支持 sendfile 时由容器在请求结束后直接从文件发送到 socket
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                job.sendfileUntil = System.currentTimeMillis() + SENDFILE_GRACE.toMillis();
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                 WritableByteChannel target = Channels.newChannel(response.getOutputStream())) {
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        } finally {
+            job.release();
+        }
+    }
+
+    /**
+     * 执行导出，结果写入临时文件
+     */
+    private void execute(ExportJob job, ExportTask task) {
+        job.status = ExportJobStatus.RUNNING;
+        Path file = null;
+        try {
+            file = Files.createTempFile(directory, "export-", ".xlsx");
+            long rows;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                rows = task.export(out, job);
+            }
+            job.complete(file, rows, Files.size(file));
+            log.info("导出任务完成: id={}, rows={}, size={}", job.id, rows, job.fileSize);
+        } catch (Exception e) {
+            log.error("导出任务失败: id={}", job.id, e);
+            job.fail(e instanceof BizException ? e.getMessage() : "导出失败，请稍后重试");
+            deleteQuietly(file);
+        }
+    }
+
+    private ExportJob getOwnedJob(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null || !job.ownerId.equals(SecurityUtils.getCurrentUserId())) {
+            throw new BizException("导出任务不存在或已过期");
+        }
+        return job;
+    }
+
+    @Override
+    public int purgeExpired() {
+        Instant deadline = Instant.now().minus(retention);
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        for (ExportJob job : jobs.values()) {
+            Instant finishTime = job.finishTime;
+            if (finishTime == null || finishTime.isAfter(deadline) || job.sendfileUntil > now) {
+                continue;
+            }
+            // 正在下载的任务留到下一次清理
+            if (!job.retire()) {
+                continue;
+            }
+            jobs.remove(job.id, job);
+            deleteQuietly(job.file);
+            purged++;
+        }
+        if (purged > 0) {
+            log.info("已清理过期导出任务: {}", purged);
+        }
+        return purged;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        jobs.values().forEach(job -> deleteQuietly(job.file));
+        jobs.clear();
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导出文件失败: {}", file, e);
+        }
+    }
+
+    /**
+     * 导出任务状态（由执行线程更新，查询线程读取）
+     */
+    private static final class ExportJob implements ExportProgress {
+
+        private final String id;
+        private final String ownerId;
+        private final String name;
+        private final Instant createTime = Instant.now();
+
+        private volatile ExportJobStatus status = ExportJobStatus.PENDING;
+        private volatile long totalRows = -1;
+        private volatile long processedRows;
+        private volatile Path file;
+        private volatile long fileSize;
+        private volatile String errorMessage;
+        private volatile Instant finishTime;
+
+        /**
+         * 正在进行的下载数，-1 表示已被清理
+         */
+        private final AtomicInteger references = new AtomicInteger();
+
+        /**
+         * 交给 sendfile 发送后，文件至少保留到该时间（毫秒时间戳）
+         */
+        private volatile long sendfileUntil;
+
+        private ExportJob(String id, String ownerId, String name) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.name = name;
+        }
+
+        @Override
+        public void start(long estimatedTotal) {
+            this.totalRows = estimatedTotal;
+        }
+
+        @Override
+        public void advance(long processedRows) {
+            this.processedRows = processedRows;
+        }
+
+        private void complete(Path file, long rows, long size) {
+            this.file = file;
+            this.processedRows = rows;
+            this.fileSize = size;
+            this.finishTime = Instant.now();
+            this.status = ExportJobStatus.SUCCESS;
+        }
+
+        /**
+         * 下载前引用文件，任务已被清理时返回 false
+         */
+        private boolean acquire() {
+            int current;
+            do {
+                current = references.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void release() {
+            references.decrementAndGet();
+        }
+
+        /**
+         * 没有正在进行的下载时标记为已清理，之后不能再下载
+         */
+        private boolean retire() {
+            return references.compareAndSet(0, -1);
+        }
+
+        private void fail(String message) {
+            this.errorMessage = message;
+            this.finishTime = Instant.now();
+            this.status = ExportJobStatus.FAILED;
+        }
+
+        private ExportJobVO toVO() {
+            ExportJobStatus current = status;
+            long total = totalRows;
+            long processed = processedRows;
+            int percent;
+            if (current == ExportJobStatus.SUCCESS) {
+                percent = 100;
+            } else if (total > 0) {
+                // 行全部写出后还需生成文件，完成前最多显示 99%
+                percent = (int) Math.min(99, processed * 100 / total);
+            } else {
+                percent = 0;
+            }
+            return new ExportJobVO(id, name, current, total, processed, percent, fileSize,
+                    errorMessage, createTime, finishTime);
+        }
+    }
+}
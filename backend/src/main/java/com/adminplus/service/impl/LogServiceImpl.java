@@ -1,18 +1,40 @@
 package com.adminplus.service.impl;
 
+import com.adminplus.audit.AuditLogWriter;
 import com.adminplus.constants.LogStatus;
+import com.adminplus.constants.OperationType;
+import com.adminplus.dto.LogQueryReq;
+import com.adminplus.dto.PageQuery;
 import com.adminplus.entity.LogEntity;
+import com.adminplus.excel.ExportProgress;
+import com.adminplus.excel.StreamingExcelWriter;
+import com.adminplus.repository.KeysetPaginator;
+import com.adminplus.repository.LogExportRepository;
 import com.adminplus.repository.LogRepository;
 import com.adminplus.service.LogService;
 import com.adminplus.utils.SecurityUtils;
+import com.adminplus.vo.LogExportVO;
+import com.adminplus.vo.OperationLogVO;
+import com.adminplus.vo.PageResultVO;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * 日志服务实现
+ * 在调用线程中采集用户信息并组装日志，交由 {@link AuditLogWriter} 异步批量写入；
+ * 查询按 (create_time, id) 游标分页，带日期条件时只扫描对应的月分区
  *
  * @author AdminPlus
  * @since 2026-02-07
@@ -22,95 +44,162 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class LogServiceImpl implements LogService {
 
+    private final AuditLogWriter auditLogWriter;
     private final LogRepository logRepository;
+    private final LogExportRepository logExportRepository;
+    private final KeysetPaginator keysetPaginator;
 
     @Override
-    @Async
-    @Transactional
     public void log(String module, Integer operationType, String description) {
         log(module, operationType, description, null, null, null);
     }
 
     @Override
-    @Async
-    @Transactional
     public void log(String module, Integer operationType, String description,
                     String method, String params, String ip) {
-        try {
-            // 检查 SecurityContext 是否包含用户信息，如果为空则跳过日志保存
-            if (!SecurityUtils.isAuthenticated()) {
-                log.debug("用户已登出，跳过日志保存: module={}, operationType={}, description={}", module, operationType, description);
-                return;
-            }
-
-            LogEntity logEntity = new LogEntity();
-            logEntity.setUserId(SecurityUtils.getCurrentUserId());
-            logEntity.setUsername(SecurityUtils.getCurrentUsername());
-            logEntity.setModule(module);
-            logEntity.setOperationType(operationType);
-            logEntity.setDescription(description);
-            logEntity.setMethod(method);
-            logEntity.setParams(params);
-            logEntity.setIp(ip);
-            logEntity.setStatus(LogStatus.SUCCESS);
-            logEntity.setCostTime(0L);
-
-            logRepository.save(logEntity);
-        } catch (Exception e) {
-            log.error("保存操作日志失败", e);
+        LogEntity logEntity = createLog(module, operationType, description);
+        if (logEntity == null) {
+            return;
         }
+        logEntity.setMethod(method);
+        logEntity.setParams(params);
+        logEntity.setIp(ip);
+        logEntity.setStatus(LogStatus.SUCCESS);
+        logEntity.setCostTime(0L);
+        auditLogWriter.submit(logEntity);
     }
 
     @Override
-    @Async
-    @Transactional
     public void log(String module, Integer operationType, String description, Long costTime) {
-        try {
-            // 检查 SecurityContext 是否包含用户信息，如果为空则跳过日志保存
-            if (!SecurityUtils.isAuthenticated()) {
-                log.debug("用户已登出，跳过日志保存: module={}, operationType={}, description={}", module, operationType, description);
-                return;
-            }
-
-            LogEntity logEntity = new LogEntity();
-            logEntity.setUserId(SecurityUtils.getCurrentUserId());
-            logEntity.setUsername(SecurityUtils.getCurrentUsername());
-            logEntity.setModule(module);
-            logEntity.setOperationType(operationType);
-            logEntity.setDescription(description);
-            logEntity.setCostTime(costTime);
-            logEntity.setStatus(LogStatus.SUCCESS);
-
-            logRepository.save(logEntity);
-        } catch (Exception e) {
-            log.error("保存操作日志失败", e);
+        LogEntity logEntity = createLog(module, operationType, description);
+        if (logEntity == null) {
+            return;
         }
+        logEntity.setCostTime(costTime);
+        logEntity.setStatus(LogStatus.SUCCESS);
+        auditLogWriter.submit(logEntity);
     }
 
     @Override
-    @Async
-    @Transactional
     public void log(String module, Integer operationType, String description,
                     Integer status, String errorMsg) {
+        LogEntity logEntity = createLog(module, operationType, description);
+        if (logEntity == null) {
+            return;
+        }
+        logEntity.setStatus(status);
+        logEntity.setErrorMsg(errorMsg);
+        auditLogWriter.submit(logEntity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResultVO<OperationLogVO> getLogList(PageQuery pageQuery, LogQueryReq queryReq) {
+        SecurityUtils.requireAuthority("log:query");
+        return keysetPaginator.find(logRepository, LogEntity.class, buildLogSpecification(queryReq),
+                        queryReq.hasFilter(), pageQuery)
+                .map(logEntity -> new OperationLogVO(
+                        logEntity.getId(),
+                        logEntity.getUsername(),
+                        logEntity.getModule(),
+                        logEntity.getOperationType(),
+                        logEntity.getDescription(),
+                        logEntity.getIp(),
+                        logEntity.getCreateTime(),
+                        logEntity.getStatus(),
+                        logEntity.getCostTime()
+                ));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportLogs(OutputStream out, LogQueryReq queryReq, ExportProgress progress) throws IOException {
+        Specification<LogEntity> spec = buildLogSpecification(queryReq);
+        progress.start(logRepository.count(spec));
+        long count;
+        try (Stream<LogExportVO> rows = logExportRepository.streamExportRows(spec);
+             StreamingExcelWriter<LogExportVO> writer = new StreamingExcelWriter<>(LogExportVO.class, "操作日志")) {
+            writer.onProgress(progress::advance);
+            writer.write(rows);
+            writer.finish(out);
+            count = writer.getRowCount();
+        }
+
+        // 记录审计日志
+        log("日志管理", OperationType.EXPORT, "导出操作日志: " + count + " 条");
+        return count;
+    }
+
+    /**
+     * 构建操作日志查询条件
+     * 日期条件直接作用于分区键 create_time，用于分区裁剪和 BRIN 索引
+     */
+    private Specification<LogEntity> buildLogSpecification(LogQueryReq queryReq) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("deleted"), false));
+
+            if (queryReq.userId() != null) {
+                predicates.add(cb.equal(root.get("userId"), queryReq.userId()));
+            }
+            if (queryReq.username() != null) {
+                predicates.add(cb.equal(root.get("username"), queryReq.username()));
+            }
+            if (queryReq.module() != null) {
+                predicates.add(cb.equal(root.get("module"), queryReq.module()));
+            }
+            if (queryReq.operationType() != null) {
+                predicates.add(cb.equal(root.get("operationType"), queryReq.operationType()));
+            }
+            if (queryReq.status() != null) {
+                predicates.add(cb.equal(root.get("status"), queryReq.status()));
+            }
+
+            ZoneId zone = ZoneId.systemDefault();
+            if (queryReq.startDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createTime"),
+                        queryReq.startDate().atStartOfDay(zone).toInstant()));
+            }
+            if (queryReq.endDate() != null) {
+                predicates.add(cb.lessThan(root.get("createTime"),
+                        queryReq.endDate().plusDays(1).atStartOfDay(zone).toInstant()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * 创建日志实体并填充当前用户信息
+     * 后台写入线程中没有 SecurityContext，创建人、更新人和创建时间需在此处确定
+     *
+     * @return 日志实体，未登录时返回 null
+     */
+    private LogEntity createLog(String module, Integer operationType, String description) {
         try {
             // 检查 SecurityContext 是否包含用户信息，如果为空则跳过日志保存
             if (!SecurityUtils.isAuthenticated()) {
                 log.debug("用户已登出，跳过日志保存: module={}, operationType={}, description={}", module, operationType, description);
-                return;
+                return null;
             }
 
+            String username = SecurityUtils.getCurrentUsername();
+            Instant now = Instant.now();
+
             LogEntity logEntity = new LogEntity();
             logEntity.setUserId(SecurityUtils.getCurrentUserId());
-            logEntity.setUsername(SecurityUtils.getCurrentUsername());
+            logEntity.setUsername(username);
             logEntity.setModule(module);
             logEntity.setOperationType(operationType);
             logEntity.setDescription(description);
-            logEntity.setStatus(status);
-            logEntity.setErrorMsg(errorMsg);
-
-            logRepository.save(logEntity);
+            logEntity.setCreateUser(username);
+            logEntity.setUpdateUser(username);
+            logEntity.setCreateTime(now);
+            logEntity.setUpdateTime(now);
+            return logEntity;
         } catch (Exception e) {
             log.error("保存操作日志失败", e);
+            return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.adminplus.service.impl;
+
+import com.adminplus.exception.BizException;
+import com.adminplus.security.OnlineSessionRegistry;
+import com.adminplus.service.OnlineUserService;
+import com.adminplus.service.RefreshTokenService;
+import com.adminplus.service.TokenBlacklistService;
+import com.adminplus.utils.SecurityUtils;
+import com.adminplus.vo.OnlineUserVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 在线用户服务实现
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OnlineUserServiceImpl implements OnlineUserService {
+
+    // 单次列出的最大会话数
+    private static final int MAX_LIMIT = 500;
+
+    private final OnlineSessionRegistry onlineSessionRegistry;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final RefreshTokenService refreshTokenService;
+
+    @Override
+    public List<OnlineUserVO> getOnlineUsers(int limit) {
+        SecurityUtils.requireAuthority("online:query");
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BizException("数量必须在 1 到 " + MAX_LIMIT + " 之间");
+        }
+        return onlineSessionRegistry.listOnline(limit);
+    }
+
+    @Override
+    public long countOnlineUsers() {
+        SecurityUtils.requireAuthority("online:query");
+        return onlineSessionRegistry.countOnline();
+    }
+
+    @Override
+    public int forceLogout(String userId) {
+        SecurityUtils.requireAuthority("online:logout");
+        if (userId.equals(SecurityUtils.getCurrentUserId())) {
+            throw new BizException("不能强制下线当前登录用户");
+        }
+
+        // 先撤销 Token，避免移除会话后又被心跳或刷新重新登记
+        refreshTokenService.revokeAllUserTokens(userId);
+        tokenBlacklistService.blacklistAllUserTokens(userId);
+        int removed = onlineSessionRegistry.removeUser(userId);
+
+        log.info("强制用户下线: userId={}, sessions={}", userId, removed);
+        return removed;
+    }
+}
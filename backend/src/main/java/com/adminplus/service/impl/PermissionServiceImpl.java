@@ -1,12 +1,11 @@
 package com.adminplus.service.impl;
 
-import com.adminplus.entity.MenuEntity;
+import com.adminplus.cache.MenuTreeIndexHolder;
 import com.adminplus.entity.RoleEntity;
 import com.adminplus.entity.UserRoleEntity;
-import com.adminplus.repository.MenuRepository;
-import com.adminplus.repository.RoleMenuRepository;
 import com.adminplus.repository.RoleRepository;
 import com.adminplus.repository.UserRoleRepository;
+import com.adminplus.security.PermissionSnapshotService;
 import com.adminplus.service.PermissionService;
 import com.adminplus.vo.PermissionVO;
 import lombok.RequiredArgsConstructor;
@@ -15,8 +14,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 权限服务实现
@@ -30,9 +27,9 @@ import java.util.stream.Collectors;
 public class PermissionServiceImpl implements PermissionService {
 
     private final UserRoleRepository userRoleRepository;
-    private final RoleMenuRepository roleMenuRepository;
-    private final MenuRepository menuRepository;
     private final RoleRepository roleRepository;
+    private final MenuTreeIndexHolder menuTreeIndexHolder;
+    private final PermissionSnapshotService permissionSnapshotService;
 
     @Override
     @Transactional(readOnly = true)
@@ -42,25 +39,8 @@ public class PermissionServiceImpl implements PermissionService {
                 .map(UserRoleEntity::getRoleId)
                 .toList();
 
-        if (roleIds.isEmpty()) {
-            return List.of();
-        }
-
-        // 2. 查询这些角色的菜单ID列表（去重）
-        Set<String> menuIds = roleIds.stream()
-                .flatMap(roleId -> roleMenuRepository.findMenuIdByRoleId(roleId).stream())
-                .collect(Collectors.toSet());
-
-        if (menuIds.isEmpty()) {
-            return List.of();
-        }
-
-        // 3. 批量查询菜单的权限标识符（permKey），过滤掉空值
-        List<MenuEntity> menus = menuRepository.findAllById(menuIds);
-        return menus.stream()
-                .filter(menu -> menu.getPermKey() != null && !menu.getPermKey().isBlank())
-                .map(MenuEntity::getPermKey)
-                .collect(Collectors.toList());
+        // 2. 通过菜单树索引中预计算的角色授权解析权限标识符
+        return permissionSnapshotService.permissionsOf(roleIds);
     }
 
     @Override
@@ -93,35 +73,21 @@ public class PermissionServiceImpl implements PermissionService {
     @Override
     @Transactional(readOnly = true)
     public List<String> getRolePermissions(String roleId) {
-        // 1. 查询角色的菜单ID列表
-        List<String> menuIds = roleMenuRepository.findMenuIdByRoleId(roleId);
-
-        if (menuIds.isEmpty()) {
-            return List.of();
-        }
-
-        // 2. 批量查询菜单的权限标识符（permKey），过滤掉空值
-        List<MenuEntity> menus = menuRepository.findAllById(menuIds);
-        return menus.stream()
-                .filter(menu -> menu.getPermKey() != null && !menu.getPermKey().isBlank())
-                .map(MenuEntity::getPermKey)
-                .collect(Collectors.toList());
+        return permissionSnapshotService.permissionsOf(List.of(roleId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PermissionVO> getAllPermissions() {
-        List<MenuEntity> menus = menuRepository.findAllByOrderBySortOrderAsc();
-
-        return menus.stream()
-                .filter(menu -> menu.getPermKey() != null && !menu.getPermKey().isBlank())
+        return menuTreeIndexHolder.get().nodes().stream()
+                .filter(menu -> menu.permKey() != null && !menu.permKey().isBlank())
                 .map(menu -> new PermissionVO(
-                        menu.getId(),
-                        menu.getPermKey(),
-                        menu.getName(),
-                        menu.getType(),
-                        menu.getParentId()
+                        menu.id(),
+                        menu.permKey(),
+                        menu.name(),
+                        menu.type(),
+                        menu.parentId()
                 ))
                 .toList();
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@ import com.adminplus.entity.UserEntity;
 import com.adminplus.exception.BizException;
 import com.adminplus.repository.ProfileRepository;
 import com.adminplus.security.CustomUserDetails;
+import com.adminplus.security.UserDetailsCache;
 import com.adminplus.service.ProfileService;
 import com.adminplus.service.VirusScanService;
 import com.adminplus.utils.PasswordUtils;
@@ -47,6 +48,7 @@ public class ProfileServiceImpl implements ProfileService {
     private final ProfileRepository profileRepository;
     private final PasswordEncoder passwordEncoder;
     private final VirusScanService virusScanService;
+    private final UserDetailsCache userDetailsCache;
 
     // 允许的图片格式
     private static final String[] ALLOWED_IMAGE_TYPES = {
@@ -113,6 +115,7 @@ public class ProfileServiceImpl implements ProfileService {
         }
 
         user = profileRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
 
         return new ProfileVO(
                 user.getId(),
@@ -157,6 +160,7 @@ public class ProfileServiceImpl implements ProfileService {
         // 更新密码
         user.setPassword(passwordEncoder.encode(req.newPassword()));
         profileRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
 
         log.info("用户 {} 修改密码成功", maskUsername(user.getUsername()));
     }
@@ -1,24 +1,31 @@
 package com.adminplus.service.impl;
 
-import com.adminplus.entity.RefreshTokenEntity;
+import com.adminplus.entity.UserEntity;
 import com.adminplus.exception.BizException;
-import com.adminplus.repository.RefreshTokenRepository;
+import com.adminplus.repository.UserRepository;
+import com.adminplus.security.OnlineSessionRegistry;
+import com.adminplus.security.PermissionSnapshotService;
 import com.adminplus.service.RefreshTokenService;
-import com.adminplus.utils.SecurityUtils;
+import com.adminplus.service.TokenBlacklistService;
+import com.adminplus.token.RefreshTokenRotation;
+import com.adminplus.token.RefreshTokenStore;
+import com.adminplus.vo.TokenRefreshResp;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.UUID;
 
 /**
  * Refresh Token 服务实现
+ * Token 的存储、轮换和撤销由 {@link RefreshTokenStore} 完成，每次刷新都签发新的 Refresh Token
  *
  * @author AdminPlus
  * @since 2026-02-08
@@ -28,8 +35,12 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final JwtEncoder jwtEncoder;
+    private final PermissionSnapshotService permissionSnapshotService;
+    private final OnlineSessionRegistry onlineSessionRegistry;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final UserRepository userRepository;
 
     // Refresh Token 有效期：7 天
     private static final long REFRESH_TOKEN_EXPIRY_DAYS = 7;
@@ -37,84 +48,95 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     // Access Token 有效期：2 小时
     private static final long ACCESS_TOKEN_EXPIRY_HOURS = 2;
 
-    @Override
-    @Transactional
-    public String createRefreshToken(String userId) {
-        // 撤销用户之前的所有 Refresh Token
-        refreshTokenRepository.deleteByUserId(userId);
-
-        // 生成新的 Refresh Token
-        String token = UUID.randomUUID().toString();
-        Instant expiryDate = Instant.now().plus(REFRESH_TOKEN_EXPIRY_DAYS, ChronoUnit.DAYS);
+    // Refresh Token 随机字节数
+    private static final int REFRESH_TOKEN_BYTES = 32;
 
-        RefreshTokenEntity refreshToken = RefreshTokenEntity.builder()
-                .userId(userId)
-                .token(token)
-                .expiryDate(expiryDate)
-                .revoked(false)
-                .build();
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
-        refreshTokenRepository.save(refreshToken);
+    @Override
+    public String createRefreshToken(String userId, String sessionJti) {
+        // 生成新的 Refresh Token，同时撤销用户之前的所有 Refresh Token
+        String token = newToken();
+        Instant expiryDate = Instant.now().plus(REFRESH_TOKEN_EXPIRY_DAYS, ChronoUnit.DAYS);
+        refreshTokenStore.issue(userId, token, sessionJti, expiryDate);
         log.info("创建 Refresh Token: userId={}", userId);
 
         return token;
     }
 
     @Override
-    @Transactional
-    public String refreshAccessToken(String refreshToken) {
-        RefreshTokenEntity tokenEntity = refreshTokenRepository.findByToken(refreshToken)
-                .orElseThrow(() -> new BizException("无效的 Refresh Token"));
-
-        // 检查 Token 是否被撤销
-        if (tokenEntity.getRevoked()) {
-            throw new BizException("Refresh Token 已被撤销");
+    public TokenRefreshResp refreshAccessToken(String refreshToken) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            throw new BizException("无效的 Refresh Token");
         }
 
-        // 检查 Token 是否过期
-        if (tokenEntity.getExpiryDate().isBefore(Instant.now())) {
-            throw new BizException("Refresh Token 已过期");
+        // 新 Access Token 的 jti 随新 Refresh Token 一起保存，下次刷新时据此迁移在线会话
+        String rotatedToken = newToken();
+        String jti = UUID.randomUUID().toString();
+        RefreshTokenRotation rotation = refreshTokenStore.rotate(refreshToken, rotatedToken, jti, Instant.now());
+        switch (rotation.outcome()) {
+            case NOT_FOUND -> throw new BizException("无效的 Refresh Token");
+            case EXPIRED -> throw new BizException("Refresh Token 已过期");
+            case REUSED -> {
+                // 已轮换的 Token 再次出现，可能已被盗用：同时撤销所有 Access Token 并移除在线会话
+                tokenBlacklistService.blacklistAllUserTokens(rotation.userId());
+                onlineSessionRegistry.removeUser(rotation.userId());
+                log.warn("检测到 Refresh Token 重复使用，已撤销用户的所有 Token: userId={}", rotation.userId());
+                throw new BizException("Refresh Token 已被撤销");
+            }
+            case ROTATED -> {
+            }
         }
 
         // 生成新的 Access Token
+        String userId = rotation.userId();
         Instant now = Instant.now();
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+        JwtClaimsSet.Builder claimsBuilder = JwtClaimsSet.builder()
                 .issuer("adminplus")
                 .issuedAt(now)
                 .expiresAt(now.plus(ACCESS_TOKEN_EXPIRY_HOURS, ChronoUnit.HOURS))
-                .subject(String.valueOf(tokenEntity.getUserId()))
-                .claim("userId", tokenEntity.getUserId())
-                .claim("scope", "ROLE_USER")
-                .build();
+                .subject(userId)
+                .id(jti)
+                .claim("userId", userId)
+                .claim("scope", "ROLE_USER");
+        permissionSnapshotService.writeClaims(claimsBuilder, permissionSnapshotService.loadSnapshot(userId));
 
-        String newAccessToken = jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
-        log.info("刷新 Access Token: userId={}", tokenEntity.getUserId());
+        String newAccessToken = jwtEncoder.encode(JwtEncoderParameters.from(claimsBuilder.build())).getTokenValue();
+        log.info("刷新 Access Token: userId={}", userId);
 
-        return newAccessToken;
+        // 在线会话迁移到新的 jti
+        onlineSessionRegistry.rotate(userId, rotation.sessionJti(), jti,
+                () -> userRepository.findById(userId).map(UserEntity::getUsername).orElse(null));
+
+        return new TokenRefreshResp(newAccessToken, rotatedToken, "Bearer");
     }
 
     @Override
-    @Transactional
     public void revokeRefreshToken(String token) {
-        RefreshTokenEntity tokenEntity = refreshTokenRepository.findByToken(token)
-                .orElseThrow(() -> new BizException("无效的 Refresh Token"));
-
-        tokenEntity.setRevoked(true);
-        refreshTokenRepository.save(tokenEntity);
-        log.info("撤销 Refresh Token: userId={}", tokenEntity.getUserId());
+        if (!refreshTokenStore.revoke(token)) {
+            throw new BizException("无效的 Refresh Token");
+        }
+        log.info("撤销 Refresh Token");
     }
 
     @Override
-    @Transactional
     public void revokeAllUserTokens(String userId) {
-        refreshTokenRepository.deleteByUserId(userId);
+        refreshTokenStore.revokeAll(userId);
         log.info("撤销用户所有 Refresh Token: userId={}", userId);
     }
 
     @Override
-    @Transactional
     public void cleanupExpiredTokens() {
-        refreshTokenRepository.deleteByExpiryDateBefore(Instant.now());
-        log.info("清理过期的 Refresh Token");
+        int purged = refreshTokenStore.purgeExpired(Instant.now());
+        log.info("清理过期的 Refresh Token: {}", purged);
+    }
+
+    /**
+     * 生成 256 位随机 Refresh Token
+     */
+    private static String newToken() {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        SECURE_RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
-}
\ No newline at end of file
+}
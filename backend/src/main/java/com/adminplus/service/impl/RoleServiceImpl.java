@@ -1,5 +1,6 @@
 package com.adminplus.service.impl;
 
+import com.adminplus.constants.CountedEntity;
 import com.adminplus.constants.OperationType;
 import com.adminplus.dto.RoleCreateReq;
 import com.adminplus.dto.RoleUpdateReq;
@@ -8,11 +9,15 @@ import com.adminplus.entity.RoleMenuEntity;
 import com.adminplus.exception.BizException;
 import com.adminplus.repository.RoleMenuRepository;
 import com.adminplus.repository.RoleRepository;
+import com.adminplus.security.PermissionSnapshotService;
+import com.adminplus.security.UserDetailsCache;
+import com.adminplus.service.EntityCounterService;
 import com.adminplus.service.LogService;
 import com.adminplus.service.RoleService;
 import com.adminplus.vo.RoleVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +37,9 @@ public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
     private final RoleMenuRepository roleMenuRepository;
     private final LogService logService;
+    private final PermissionSnapshotService permissionSnapshotService;
+    private final EntityCounterService entityCounterService;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -71,6 +79,7 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "dashboardStats", allEntries = true)
     public RoleVO createRole(RoleCreateReq req) {
         // 检查角色编码是否已存在
         if (roleRepository.existsByCode(req.code())) {
@@ -86,6 +95,7 @@ public class RoleServiceImpl implements RoleService {
         role.setSortOrder(req.sortOrder());
 
         role = roleRepository.save(role);
+        entityCounterService.increment(CountedEntity.ROLE, 1);
 
         // 记录审计日志
         logService.log("角色管理", OperationType.CREATE, "创建角色: " + role.getName() + " (" + role.getCode() + ")");
@@ -105,6 +115,7 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "dashboardStats", allEntries = true)
     public RoleVO updateRole(String id, RoleUpdateReq req) {
         var role = roleRepository.findById(id)
                 .orElseThrow(() -> new BizException("角色不存在"));
@@ -126,6 +137,8 @@ public class RoleServiceImpl implements RoleService {
         }
 
         role = roleRepository.save(role);
+        // 缓存的登录用户详情包含角色名称和状态
+        userDetailsCache.evictAll();
 
         return new RoleVO(
                 role.getId(),
@@ -142,6 +155,7 @@ public class RoleServiceImpl implements RoleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "dashboardStats", allEntries = true)
     public void deleteRole(String id) {
         var role = roleRepository.findById(id)
                 .orElseThrow(() -> new BizException("角色不存在"));
@@ -151,6 +165,8 @@ public class RoleServiceImpl implements RoleService {
 
         // 删除角色（逻辑删除或物理删除，这里使用物理删除）
         roleRepository.delete(role);
+        entityCounterService.increment(CountedEntity.ROLE, -1);
+        permissionSnapshotService.onPermissionChanged();
 
         // 记录审计日志
         logService.log("角色管理", OperationType.DELETE, "删除角色: " + role.getName() + " (" + role.getCode() + ")");
@@ -177,6 +193,7 @@ public class RoleServiceImpl implements RoleService {
             }).toList();
             roleMenuRepository.saveAll(roleMenus);
         }
+        permissionSnapshotService.onPermissionChanged();
 
         // 记录审计日志
         var role = roleRepository.findById(roleId).orElse(null);
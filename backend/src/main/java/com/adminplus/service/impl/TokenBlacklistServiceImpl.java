@@ -1,19 +1,38 @@
 package com.adminplus.service.impl;
 
 import com.adminplus.service.TokenBlacklistService;
+import com.adminplus.utils.BloomFilter;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Base64;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * JWT Token 撤销服务实现（基于 Redis 黑名单）
+ * 单个 Token 按 jti 加入黑名单，本地布隆过滤器作为前置过滤，只有命中时才查询 Redis；
+ * 用户级撤销只记录一个"撤销时间点"，本地内存中与 Token 的 iat 比较，登出所有设备为 O(1) 操作。
+ * 本地状态通过 Redis 发布/订阅实时同步，并由定时任务（{@link #cleanupExpiredTokens()}）根据 Redis 中的键重建，
+ * 以清理过期条目并补齐丢失的通知；重建成功前直接查询 Redis
  *
  * @author AdminPlus
  * @since 2026-02-07
@@ -21,49 +40,99 @@ import java.util.Set;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class TokenBlacklistServiceImpl implements TokenBlacklistService {
+public class TokenBlacklistServiceImpl implements TokenBlacklistService, MessageListener {
 
     private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
 
-    // Token 黑名单 Redis 键前缀
+    // Token 黑名单 Redis 键前缀（按 jti）
     private static final String BLACKLIST_KEY_PREFIX = "token:blacklist:";
 
-    // 用户 Token 集合键前缀
-    private static final String USER_TOKENS_KEY_PREFIX = "user:tokens:";
+    // 用户撤销时间点 Redis 键前缀（值为 epoch 秒）
+    private static final String REVOKED_BEFORE_KEY_PREFIX = "token:revoked-before:";
 
-    // Token 过期时间（2 小时，与 JWT 过期时间一致）
+    // 撤销广播频道
+    private static final String REVOCATION_CHANNEL = "token:revoked";
+
+    // 广播消息类型：单个 Token / 用户全部 Token
+    private static final String TYPE_TOKEN = "J";
+    private static final String TYPE_USER = "U";
+
+    // Token 过期时间（2 小时，与 JWT 过期时间一致），用户撤销时间点只需保留这么久
     private static final Duration TOKEN_EXPIRATION = Duration.ofHours(2);
 
+    // 重建时批量读取撤销时间点的数量
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // 布隆过滤器容量和误判率
+    private static final int BLOOM_EXPECTED_INSERTIONS = 100_000;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.001;
+
+    // SHA-256 原型，通过 clone 获取实例，避免每次查找安全提供者
+    private static final MessageDigest SHA256_PROTOTYPE = newSha256();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * 写入本地状态时持有读锁，切换到重建后的状态时持有写锁，
+     * 保证重建期间的写入要么同时进入新状态，要么发生在切换之后
+     */
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private volatile RevocationState state = RevocationState.create();
+
+    /**
+     * 重建过程中的新状态，期间新增的条目同时写入，避免切换时丢失
+     */
+    private volatile RevocationState rebuildingState;
+
+    /**
+     * 本地状态是否已与 Redis 同步，未同步时需直接查询 Redis
+     */
+    private volatile boolean synced;
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        rebuild();
+    }
+
     @Override
-    public void blacklistToken(String token, String userId) {
-        if (token == null || token.isEmpty()) {
+    public void blacklistToken(String jti, String userId, Instant expiresAt) {
+        if (jti == null || jti.isEmpty()) {
             return;
         }
 
-        // 生成 Token 的哈希值作为键
-        String tokenHash = hashToken(token);
-        String blacklistKey = BLACKLIST_KEY_PREFIX + tokenHash;
-
-        // 将 Token 加入黑名单，设置过期时间为 2 小时
-        redisTemplate.opsForValue().set(blacklistKey, String.valueOf(userId), TOKEN_EXPIRATION);
+        // 黑名单记录只需保留到 Token 过期为止
+        Duration ttl = expiresAt != null ? Duration.between(Instant.now(), expiresAt) : TOKEN_EXPIRATION;
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        redisTemplate.opsForValue().set(BLACKLIST_KEY_PREFIX + jti, String.valueOf(userId), ttl);
 
-        // 将 Token 添加到用户的 Token 集合
-        String userTokensKey = USER_TOKENS_KEY_PREFIX + userId;
-        redisTemplate.opsForSet().add(userTokensKey, tokenHash);
+        // 更新本地状态并通知其他节点
+        applyToken(jti);
+        publish(String.join("|", TYPE_TOKEN, jti));
 
-        log.info("Token 已加入黑名单: userId={}, tokenHash={}", userId, tokenHash);
+        log.info("Token 已加入黑名单: userId={}, jti={}", userId, jti);
     }
 
     @Override
-    public boolean isTokenBlacklisted(String token) {
-        if (token == null || token.isEmpty()) {
-            return false;
+    public boolean isTokenBlacklisted(String jti, String userId, Instant issuedAt) {
+        if (!synced) {
+            return isRevokedRemotely(jti, userId, issuedAt);
         }
 
-        String tokenHash = hashToken(token);
-        String blacklistKey = BLACKLIST_KEY_PREFIX + tokenHash;
+        RevocationState current = state;
+        if (userId != null && isIssuedBefore(issuedAt, current.revokedBefore().get(userId))) {
+            return true;
+        }
 
-        return Boolean.TRUE.equals(redisTemplate.hasKey(blacklistKey));
+        // 本地过滤器未命中时，Token 一定不在黑名单中
+        if (jti == null || !current.mightContainToken(digest(jti))) {
+            return false;
+        }
+        return Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_KEY_PREFIX + jti));
     }
 
     @Override
@@ -72,41 +141,216 @@ public class TokenBlacklistServiceImpl implements TokenBlacklistService {
             return;
         }
 
-        String userTokensKey = USER_TOKENS_KEY_PREFIX + userId;
+        // 记录撤销时间点，签发时间不晚于该时间点的 Token 全部失效
+        long revokedBefore = Instant.now().getEpochSecond();
+        redisTemplate.opsForValue().set(REVOKED_BEFORE_KEY_PREFIX + userId, String.valueOf(revokedBefore), TOKEN_EXPIRATION);
 
-        // 获取用户的所有 Token 哈希
-        Set<String> tokenHashes = redisTemplate.opsForSet().members(userTokensKey);
-        if (tokenHashes != null && !tokenHashes.isEmpty()) {
-            // 将所有 Token 加入黑名单
-            for (String tokenHash : tokenHashes) {
-                String blacklistKey = BLACKLIST_KEY_PREFIX + tokenHash;
-                redisTemplate.opsForValue().set(blacklistKey, String.valueOf(userId), TOKEN_EXPIRATION);
-            }
-        }
+        applyUser(userId, revokedBefore);
+        publish(String.join("|", TYPE_USER, userId, String.valueOf(revokedBefore)));
 
-        log.info("用户的所有 Token 已加入黑名单: userId={}, count={}", userId, tokenHashes != null ? tokenHashes.size() : 0);
+        log.info("用户的所有 Token 已撤销: userId={}, revokedBefore={}", userId, revokedBefore);
     }
 
     @Override
     public void cleanupExpiredTokens() {
-        // Redis 会自动清理过期的键，这里主要用于日志记录
+        // Redis 会自动清理过期的键，这里重建本地状态以移除已过期的条目
+        rebuild();
         log.debug("Token 黑名单清理任务执行（Redis 自动处理过期键）");
     }
 
     /**
-     * 对 Token 进行哈希处理
-     *
-     * @param token Token 字符串
-     * @return 哈希值
+     * 收到其他节点的撤销通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+        try {
+            if (TYPE_TOKEN.equals(parts[0]) && parts.length == 2) {
+                applyToken(parts[1]);
+            } else if (TYPE_USER.equals(parts[0]) && parts.length == 3) {
+                applyUser(parts[1], Long.parseLong(parts[2]));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("无法解析 Token 撤销通知: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 签发时间不晚于撤销时间点即视为已撤销（iat 精度为秒，同一秒内签发的 Token 按已撤销处理）
+     */
+    private static boolean isIssuedBefore(Instant issuedAt, Long revokedBefore) {
+        return revokedBefore != null && (issuedAt == null || issuedAt.getEpochSecond() <= revokedBefore);
+    }
+
+    /**
+     * 本地状态尚未同步时，一次 MGET 同时读取用户撤销时间点和 jti 黑名单
      */
-    private String hashToken(String token) {
+    private boolean isRevokedRemotely(String jti, String userId, Instant issuedAt) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add(REVOKED_BEFORE_KEY_PREFIX + userId);
+        if (jti != null) {
+            keys.add(BLACKLIST_KEY_PREFIX + jti);
+        }
+
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return false;
+        }
+        if (userId != null && values.get(0) != null && isIssuedBefore(issuedAt, parseEpoch(values.get(0)))) {
+            return true;
+        }
+        return values.size() > 1 && values.get(1) != null;
+    }
+
+    /**
+     * 根据 Redis 中现存的黑名单键和用户撤销时间点重建本地状态
+     */
+    private void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            RevocationState rebuilt = RevocationState.create();
+            rebuildingState = rebuilt;
+
+            int tokenCount = 0;
+            for (String key : scanKeys(BLACKLIST_KEY_PREFIX)) {
+                rebuilt.addToken(digest(key.substring(BLACKLIST_KEY_PREFIX.length())));
+                tokenCount++;
+            }
+
+            List<String> userKeys = scanKeys(REVOKED_BEFORE_KEY_PREFIX);
+            for (int from = 0; from < userKeys.size(); from += REBUILD_BATCH_SIZE) {
+                List<String> batch = userKeys.subList(from, Math.min(from + REBUILD_BATCH_SIZE, userKeys.size()));
+                List<String> values = redisTemplate.opsForValue().multiGet(batch);
+                if (values == null) {
+                    continue;
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    Long revokedBefore = parseEpoch(values.get(i));
+                    if (revokedBefore != null) {
+                        rebuilt.revokeUser(batch.get(i).substring(REVOKED_BEFORE_KEY_PREFIX.length()), revokedBefore);
+                    }
+                }
+            }
+
+            swapLock.writeLock().lock();
+            try {
+                state = rebuilt;
+                rebuildingState = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            synced = true;
+            log.debug("Token 撤销状态已重建: tokens={}, users={}", tokenCount, userKeys.size());
+        } catch (Exception e) {
+            log.warn("重建 Token 撤销状态失败: {}", e.getMessage());
+        } finally {
+            rebuildingState = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    private List<String> scanKeys(String prefix) {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+            }
+        }
+        return keys;
+    }
+
+    private void applyToken(String jti) {
+        byte[] digest = digest(jti);
+        swapLock.readLock().lock();
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes());
-            return Base64.getEncoder().encodeToString(hash).substring(0, 32);
+            state.addToken(digest);
+            RevocationState rebuilding = rebuildingState;
+            if (rebuilding != null) {
+                rebuilding.addToken(digest);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void applyUser(String userId, long revokedBefore) {
+        swapLock.readLock().lock();
+        try {
+            state.revokeUser(userId, revokedBefore);
+            RevocationState rebuilding = rebuildingState;
+            if (rebuilding != null) {
+                rebuilding.revokeUser(userId, revokedBefore);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, message);
         } catch (Exception e) {
-            log.error("Token 哈希失败", e);
-            return token;
+            log.warn("广播 Token 撤销通知失败: {}", e.getMessage());
+        }
+    }
+
+    private static Long parseEpoch(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 计算 jti 的 SHA-256 摘要，作为布隆过滤器的哈希来源
+     */
+    private static byte[] digest(String jti) {
+        try {
+            MessageDigest digest = (MessageDigest) SHA256_PROTOTYPE.clone();
+            return digest.digest(jti.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            return newSha256().digest(jti.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 本地撤销状态：jti 布隆过滤器 + 用户撤销时间点
+     */
+    private record RevocationState(BloomFilter tokenFilter, ConcurrentMap<String, Long> revokedBefore) {
+
+        static RevocationState create() {
+            return new RevocationState(
+                    BloomFilter.create(BLOOM_EXPECTED_INSERTIONS, BLOOM_FALSE_POSITIVE_RATE),
+                    new ConcurrentHashMap<>());
+        }
+
+        void addToken(byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            tokenFilter.put(buffer.getLong(0), buffer.getLong(8));
+        }
+
+        boolean mightContainToken(byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return tokenFilter.mightContain(buffer.getLong(0), buffer.getLong(8));
+        }
+
+        void revokeUser(String userId, long epochSecond) {
+            revokedBefore.merge(userId, epochSecond, Math::max);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,33 +1,58 @@
 package com.adminplus.service.impl;
 
+import com.adminplus.constants.CountedEntity;
 import com.adminplus.constants.OperationType;
+import com.adminplus.dto.PageQuery;
 import com.adminplus.dto.UserCreateReq;
+import com.adminplus.dto.UserImportRow;
+import com.adminplus.dto.UserQueryReq;
 import com.adminplus.dto.UserUpdateReq;
 import com.adminplus.entity.RoleEntity;
 import com.adminplus.entity.UserEntity;
 import com.adminplus.entity.UserRoleEntity;
+import com.adminplus.excel.ExcelImportResult;
+import com.adminplus.excel.ExcelRow;
+import com.adminplus.excel.ExcelRowError;
+import com.adminplus.excel.ExportProgress;
+import com.adminplus.excel.StreamingExcelWriter;
 import com.adminplus.exception.BizException;
+import com.adminplus.repository.KeysetPaginator;
 import com.adminplus.repository.RoleRepository;
 import com.adminplus.repository.UserRepository;
 import com.adminplus.repository.UserRoleRepository;
+import com.adminplus.security.PermissionSnapshotService;
+import com.adminplus.security.UserDetailsCache;
+import com.adminplus.service.EntityCounterService;
 import com.adminplus.service.LogService;
 import com.adminplus.service.UserService;
+import com.adminplus.utils.ExcelUtils;
 import com.adminplus.utils.PasswordUtils;
 import com.adminplus.utils.XssUtils;
+import com.adminplus.vo.UserExportVO;
 import com.adminplus.vo.UserVO;
 import com.adminplus.vo.PageResultVO;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 用户服务实现
@@ -45,15 +70,26 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final LogService logService;
+    private final PermissionSnapshotService permissionSnapshotService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final KeysetPaginator keysetPaginator;
+    private final EntityCounterService entityCounterService;
+    private final UserDetailsCache userDetailsCache;
+
+    /**
+     * 导入时每批校验和保存的行数
+     */
+    private static final int IMPORT_BATCH_SIZE = 500;
 
     @Override
     @Transactional(readOnly = true)
-    public PageResultVO<UserVO> getUserList(Integer page, Integer size, String keyword) {
-        var pageable = PageRequest.of(page - 1, size);
-        var pageResult = userRepository.findAll(pageable);
+    public PageResultVO<UserVO> getUserList(PageQuery pageQuery, UserQueryReq queryReq) {
+        var pageResult = keysetPaginator.find(userRepository, UserEntity.class,
+                buildUserSpecification(queryReq), queryReq.hasFilter(), pageQuery);
 
         // 批量查询所有用户角色
-        List<String> userIds = pageResult.getContent().stream()
+        List<String> userIds = pageResult.records().stream()
                 .map(UserEntity::getId)
                 .toList();
         List<UserRoleEntity> allUserRoles = userIds.isEmpty()
@@ -82,7 +118,7 @@ public class UserServiceImpl implements UserService {
             }
         }
 
-        var records = pageResult.getContent().stream().map(user -> {
+        return pageResult.map(user -> {
             List<String> roleNames = userRoleMap.getOrDefault(user.getId(), List.of());
 
             return new UserVO(
@@ -97,14 +133,7 @@ public class UserServiceImpl implements UserService {
                     user.getCreateTime(),
                     user.getUpdateTime()
             );
-        }).toList();
-
-        return new PageResultVO<>(
-                records,
-                pageResult.getTotalElements(),
-                pageResult.getNumber() + 1,
-                pageResult.getSize()
-        );
+        });
     }
 
     @Override
@@ -137,9 +166,53 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Async
-    public CompletableFuture<PageResultVO<UserVO>> getUserListAsync(Integer page, Integer size, String keyword) {
+    public CompletableFuture<PageResultVO<UserVO>> getUserListAsync(PageQuery pageQuery, UserQueryReq queryReq) {
         log.info("使用虚拟线程异步查询用户列表");
-        return CompletableFuture.completedFuture(getUserList(page, size, keyword));
+        return CompletableFuture.completedFuture(getUserList(pageQuery, queryReq));
+    }
+
+    /**
+     * 构建用户列表查询条件
+     * 关键字按 lower(列) LIKE '%关键字%' 匹配，与 docs/init.sql 中的 pg_trgm GIN 表达式索引一致
+     */
+    private Specification<UserEntity> buildUserSpecification(UserQueryReq queryReq) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("deleted"), false));
+
+            if (queryReq.keyword() != null) {
+                String pattern = "%" + escapeLike(queryReq.keyword().toLowerCase()) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("username")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("nickname")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("email")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("phone")), pattern, '\\')
+                ));
+            }
+
+            if (queryReq.status() != null) {
+                predicates.add(cb.equal(root.get("status"), queryReq.status()));
+            }
+
+            ZoneId zone = ZoneId.systemDefault();
+            if (queryReq.startDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createTime"),
+                        queryReq.startDate().atStartOfDay(zone).toInstant()));
+            }
+            if (queryReq.endDate() != null) {
+                predicates.add(cb.lessThan(root.get("createTime"),
+                        queryReq.endDate().plusDays(1).atStartOfDay(zone).toInstant()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * 转义 LIKE 通配符，关键字按字面匹配
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     @Override
@@ -179,6 +252,7 @@ public class UserServiceImpl implements UserService {
         user.setStatus(1);
 
         user = userRepository.save(user);
+        entityCounterService.increment(CountedEntity.USER, 1);
 
         // 记录审计日志
         logService.log("用户管理", OperationType.CREATE, "创建用户: " + user.getUsername());
@@ -220,6 +294,7 @@ public class UserServiceImpl implements UserService {
         }
 
         user = userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
 
         return new UserVO(
                 user.getId(),
@@ -241,8 +316,14 @@ public class UserServiceImpl implements UserService {
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new BizException("用户不存在"));
 
+        if (Boolean.TRUE.equals(user.getDeleted())) {
+            throw new BizException("用户不存在");
+        }
+
         user.setDeleted(true);
         userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
+        entityCounterService.increment(CountedEntity.USER, -1);
 
         // 记录审计日志
         logService.log("用户管理", OperationType.DELETE, "删除用户: " + user.getUsername());
@@ -256,6 +337,7 @@ public class UserServiceImpl implements UserService {
 
         user.setStatus(status);
         userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
 
         // 记录审计日志
         logService.log("用户管理", OperationType.UPDATE, "更新用户状态: " + user.getUsername() + " -> " + status);
@@ -274,6 +356,7 @@ public class UserServiceImpl implements UserService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
 
         // 记录审计日志（使用掩码隐藏用户名）
         logService.log("用户管理", OperationType.UPDATE, "重置密码: " + maskUsername(user.getUsername()));
@@ -291,6 +374,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "dashboardStats", allEntries = true)
     public void assignRoles(String userId, List<String> roleIds) {
         // 检查用户是否存在
         if (!userRepository.existsById(userId)) {
@@ -317,6 +401,7 @@ public class UserServiceImpl implements UserService {
             }).toList();
             userRoleRepository.saveAll(userRoles);
         }
+        permissionSnapshotService.onPermissionChanged();
 
         // 记录审计日志
         var user = userRepository.findById(userId).orElse(null);
@@ -340,4 +425,108 @@ public class UserServiceImpl implements UserService {
                 .map(UserRoleEntity::getRoleId)
                 .toList();
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out) throws IOException {
+        return exportUsers(out, ExportProgress.NONE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out, ExportProgress progress) throws IOException {
+        progress.start(userRepository.countByDeletedFalse());
+        long count;
+        try (Stream<UserExportVO> rows = userRepository.streamExportRows();
+             StreamingExcelWriter<UserExportVO> writer = new StreamingExcelWriter<>(UserExportVO.class, "用户列表")) {
+            writer.onProgress(progress::advance);
+            writer.write(rows);
+            writer.finish(out);
+            count = writer.getRowCount();
+        }
+
+        // 记录审计日志
+        logService.log("用户管理", OperationType.EXPORT, "导出用户: " + count + " 条");
+        return count;
+    }
+
+    @Override
+    @CacheEvict(value = "dashboardStats", allEntries = true)
+    public ExcelImportResult importUsers(MultipartFile file, String initialPassword, String roleId) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new BizException("请选择要导入的文件");
+        }
+        if (!PasswordUtils.isStrongPassword(initialPassword)) {
+            throw new BizException(PasswordUtils.getPasswordStrengthHint(initialPassword));
+        }
+        if (roleId != null && !roleRepository.existsById(roleId)) {
+            throw new BizException("角色不存在，ID: " + roleId);
+        }
+
+        // 初始密码只需哈希一次，所有导入用户共用
+        String encodedPassword = passwordEncoder.encode(initialPassword);
+        ExcelImportResult result = ExcelUtils.importExcel(file, UserImportRow.class, IMPORT_BATCH_SIZE,
+                rows -> transactionTemplate.execute(status -> saveImportBatch(rows, encodedPassword, roleId)));
+
+        // 记录审计日志
+        logService.log("用户管理", OperationType.IMPORT,
+                "导入用户: 成功 " + result.successRows() + " 条, 失败 " + result.failedRows() + " 条");
+        return result;
+    }
+
+    /**
+     * 校验并保存一批导入行（在独立事务中执行，提交后持久化上下文随之释放）
+     *
+     * @param roleId 为导入用户分配的角色，为 null 时不分配
+     * @return 被拒绝的行
+     */
+    private List<ExcelRowError> saveImportBatch(List<ExcelRow<UserImportRow>> rows, String encodedPassword,
+                                                String roleId) {
+        List<ExcelRowError> errors = new ArrayList<>();
+        Map<String, ExcelRow<UserImportRow>> accepted = new LinkedHashMap<>();
+
+        for (ExcelRow<UserImportRow> row : rows) {
+            String message = validator.validate(row.value()).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            if (!message.isEmpty()) {
+                errors.add(new ExcelRowError(row.rowNumber(), message));
+            } else if (accepted.putIfAbsent(row.value().username().trim(), row) != null) {
+                errors.add(new ExcelRowError(row.rowNumber(), "用户名在文件中重复: " + row.value().username()));
+            }
+        }
+
+        // 一次查询校验整批用户名，之前批次已提交的用户同样会被识别为重复
+        if (!accepted.isEmpty()) {
+            for (String username : userRepository.findExistingUsernames(accepted.keySet())) {
+                ExcelRow<UserImportRow> row = accepted.remove(username);
+                errors.add(new ExcelRowError(row.rowNumber(), "用户名已存在: " + username));
+            }
+        }
+
+        List<UserEntity> users = new ArrayList<>(accepted.size());
+        accepted.forEach((username, row) -> {
+            var user = new UserEntity();
+            user.setUsername(username);
+            user.setPassword(encodedPassword);
+            user.setNickname(XssUtils.escape(row.value().nickname()));
+            user.setEmail(XssUtils.escape(row.value().email()));
+            user.setPhone(XssUtils.escape(row.value().phone()));
+            user.setStatus(1);
+            users.add(user);
+        });
+        userRepository.saveAll(users);
+        entityCounterService.increment(CountedEntity.USER, users.size());
+        if (roleId != null && !users.isEmpty()) {
+            List<UserRoleEntity> userRoles = users.stream().map(user -> {
+                var userRole = new UserRoleEntity();
+                userRole.setUserId(user.getId());
+                userRole.setRoleId(roleId);
+                return userRole;
+            }).toList();
+            userRoleRepository.saveAll(userRoles);
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,128 @@
+package com.adminplus.token;
+
+import com.adminplus.entity.RefreshTokenEntity;
+import com.adminplus.repository.RefreshTokenRepository;
+import com.adminplus.util.SnowflakeIdGenerator;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 基于数据库的 Refresh Token 存储（单节点部署时使用）
+ * 已使用（轮换过）的 Token 以 revoked 标记保留到过期，用于识别重复使用；轮换时对旧 Token 加行锁，同一 Token 的并发轮换只有一个成功
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final int purgeBatchSize;
+    private final Duration reuseGrace;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository,
+                                SnowflakeIdGenerator snowflakeIdGenerator,
+                                int purgeBatchSize,
+                                Duration reuseGrace) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.snowflakeIdGenerator = snowflakeIdGenerator;
+        this.purgeBatchSize = purgeBatchSize;
+        this.reuseGrace = reuseGrace;
+    }
+
+    @Override
+    @Transactional
+    public void issue(String userId, String token, String sessionJti, Instant expiresAt) {
+        refreshTokenRepository.deleteByUserId(userId);
+        save(userId, token, sessionJti, expiresAt);
+    }
+
+    @Override
+    @Transactional
+    public RefreshTokenRotation rotate(String token, String newToken, String newSessionJti, Instant now) {
+        Optional<RefreshTokenEntity> found = refreshTokenRepository.findByTokenForUpdate(token);
+        if (found.isEmpty()) {
+            return RefreshTokenRotation.notFound();
+        }
+
+        RefreshTokenEntity tokenEntity = found.get();
+        String userId = tokenEntity.getUserId();
+        String previousJti = tokenEntity.getSessionJti();
+        if (tokenEntity.getRevoked()) {
+            Optional<RefreshTokenEntity> unclaimed = unclaimedReplacement(tokenEntity, now);
+            if (unclaimed.isEmpty()) {
+                refreshTokenRepository.deleteByUserId(userId);
+                return new RefreshTokenRotation(RefreshTokenRotation.Outcome.REUSED, userId, null, null);
+            }
+            // 宽限期内的重试：上次签发的 Token 客户端未收到，直接作废（删除而非标记已使用，避免之后被判为盗用）
+            previousJti = unclaimed.get().getSessionJti();
+            refreshTokenRepository.delete(unclaimed.get());
+        }
+        if (!tokenEntity.getExpiryDate().isAfter(now)) {
+            return new RefreshTokenRotation(RefreshTokenRotation.Outcome.EXPIRED, userId, null, null);
+        }
+
+        if (tokenEntity.getRotatedAt() == null) {
+            tokenEntity.setRotatedAt(now);
+        }
+        tokenEntity.setRevoked(true);
+        tokenEntity.setReplacedBy(newToken);
+        refreshTokenRepository.save(tokenEntity);
+        save(userId, newToken, newSessionJti, tokenEntity.getExpiryDate());
+        return new RefreshTokenRotation(RefreshTokenRotation.Outcome.ROTATED, userId, tokenEntity.getExpiryDate(),
+                previousJti);
+    }
+
+    /**
+     * 已轮换的 Token 在宽限期内再次提交，且轮换时签发的新 Token 尚未使用，返回该新 Token（视为重试）
+     * 宽限期从第一次轮换开始计算，重复重试不会延长
+     */
+    private Optional<RefreshTokenEntity> unclaimedReplacement(RefreshTokenEntity tokenEntity, Instant now) {
+        if (tokenEntity.getRotatedAt() == null || tokenEntity.getReplacedBy() == null
+                || !now.isBefore(tokenEntity.getRotatedAt().plus(reuseGrace))) {
+            return Optional.empty();
+        }
+        return refreshTokenRepository.findByTokenForUpdate(tokenEntity.getReplacedBy())
+                .filter(replacement -> !replacement.getRevoked());
+    }
+
+    @Override
+    @Transactional
+    public boolean revoke(String token) {
+        Optional<RefreshTokenEntity> found = refreshTokenRepository.findByToken(token);
+        found.ifPresent(refreshTokenRepository::delete);
+        return found.isPresent();
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(String userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        return purged;
+    }
+
+    private void save(String userId, String token, String sessionJti, Instant expiresAt) {
+        RefreshTokenEntity refreshToken = RefreshTokenEntity.builder()
+                .id(snowflakeIdGenerator.nextId())
+                .userId(userId)
+                .token(token)
+                .sessionJti(sessionJti)
+                .expiryDate(expiresAt)
+                .revoked(false)
+                .build();
+        refreshTokenRepository.save(refreshToken);
+    }
+}
@@ -0,0 +1,176 @@
+package com.adminplus.token;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 基于 Redis 的 Refresh Token 存储
+ * 每个 Token 一个哈希（按 Token 的 SHA-256 摘要寻址，不保存原文），到期由 Redis 自动删除；
+ * 另按用户维护 Token 摘要集合，用于撤销用户的所有 Token。所有读写均为单键或单用户范围的 O(1) 操作，由 Lua 脚本保证原子性
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    // Token 键前缀（后接 Token 摘要）
+    private static final String TOKEN_KEY_PREFIX = "refresh:token:";
+
+    // 用户 Token 集合键前缀（后接用户ID）
+    private static final String USER_KEY_PREFIX = "refresh:user:";
+
+    /**
+     * 撤销用户已有 Token 后保存新 Token
+     * KEYS[1] 用户集合；KEYS[2] 新 Token；ARGV[1] 新 Token 摘要；ARGV[2] 用户ID；ARGV[3] 过期时间（毫秒）；ARGV[4] Token 键前缀；
+     * ARGV[5] Access Token jti
+     */
+    private static final RedisScript<Long> ISSUE_SCRIPT = RedisScript.of("""
+            for _, id in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+                redis.call('DEL', ARGV[4] .. id)
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[2], 'userId', ARGV[2], 'expiresAt', ARGV[3], 'used', '0', 'jti', ARGV[5])
+            redis.call('PEXPIREAT', KEYS[2], ARGV[3])
+            redis.call('SADD', KEYS[1], ARGV[1])
+            redis.call('PEXPIREAT', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] 旧 Token；KEYS[2] 新 Token；ARGV[1] 新 Token 摘要；ARGV[2] 当前时间（毫秒）；ARGV[3] 用户集合键前缀；ARGV[4] Token 键前缀；
+     * ARGV[5] 新 Access Token jti；ARGV[6] 重试宽限期（毫秒）
+     * 旧 Token 记录第一次轮换的时间（usedAt）和签发的新 Token 摘要（next）：宽限期内再次提交且 next 尚未使用时视为重试，
+     * 删除 next 后重新签发，否则按盗用撤销用户的所有 Token
+     * 返回 {结果, 用户ID, 过期时间, 被替换会话的 Access Token jti}
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE_SCRIPT = RedisScript.of("""
+            local token = redis.call('HMGET', KEYS[1], 'userId', 'expiresAt', 'used', 'jti', 'usedAt', 'next')
+            if not token[1] then
+                return {'NOT_FOUND'}
+            end
+            local userKey = ARGV[3] .. token[1]
+            local previousJti = token[4] or ''
+            if token[3] == '1' then
+                local retry = false
+                if token[5] and token[6] and tonumber(ARGV[2]) - tonumber(token[5]) < tonumber(ARGV[6]) then
+                    local replacement = redis.call('HMGET', ARGV[4] .. token[6], 'used', 'jti')
+                    retry = replacement[1] == '0'
+                    if retry then
+                        redis.call('DEL', ARGV[4] .. token[6])
+                        redis.call('SREM', userKey, token[6])
+                        previousJti = replacement[2] or ''
+                    end
+                end
+                if not retry then
+                    for _, id in ipairs(redis.call('SMEMBERS', userKey)) do
+                        redis.call('DEL', ARGV[4] .. id)
+                    end
+                    redis.call('DEL', userKey)
+                    return {'REUSED', token[1]}
+                end
+            end
+            if tonumber(token[2]) <= tonumber(ARGV[2]) then
+                return {'EXPIRED', token[1]}
+            end
+            redis.call('HSET', KEYS[1], 'used', '1', 'next', ARGV[1])
+            redis.call('HSETNX', KEYS[1], 'usedAt', ARGV[2])
+            redis.call('HSET', KEYS[2], 'userId', token[1], 'expiresAt', token[2], 'used', '0', 'jti', ARGV[5])
+            redis.call('PEXPIREAT', KEYS[2], token[2])
+            redis.call('SADD', userKey, ARGV[1])
+            return {'ROTATED', token[1], token[2], previousJti}
+            """, List.class);
+
+    /**
+     * KEYS[1] Token；ARGV[1] Token 摘要；ARGV[2] 用户集合键前缀
+     */
+    private static final RedisScript<Long> REVOKE_SCRIPT = RedisScript.of("""
+            local userId = redis.call('HGET', KEYS[1], 'userId')
+            if not userId then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('SREM', ARGV[2] .. userId, ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] 用户集合；ARGV[1] Token 键前缀
+     */
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT = RedisScript.of("""
+            local ids = redis.call('SMEMBERS', KEYS[1])
+            for _, id in ipairs(ids) do
+                redis.call('DEL', ARGV[1] .. id)
+            end
+            redis.call('DEL', KEYS[1])
+            return #ids
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration reuseGrace;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate, Duration reuseGrace) {
+        this.redisTemplate = redisTemplate;
+        this.reuseGrace = reuseGrace;
+    }
+
+    @Override
+    public void issue(String userId, String token, String sessionJti, Instant expiresAt) {
+        String digest = digest(token);
+        redisTemplate.execute(ISSUE_SCRIPT, List.of(USER_KEY_PREFIX + userId, TOKEN_KEY_PREFIX + digest),
+                digest, userId, String.valueOf(expiresAt.toEpochMilli()), TOKEN_KEY_PREFIX, sessionJti);
+    }
+
+    @Override
+    public RefreshTokenRotation rotate(String token, String newToken, String newSessionJti, Instant now) {
+        String newDigest = digest(newToken);
+        List<?> result = redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(TOKEN_KEY_PREFIX + digest(token), TOKEN_KEY_PREFIX + newDigest),
+                newDigest, String.valueOf(now.toEpochMilli()), USER_KEY_PREFIX, TOKEN_KEY_PREFIX, newSessionJti,
+                String.valueOf(reuseGrace.toMillis()));
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("Refresh Token 轮换脚本返回结果无效: " + result);
+        }
+
+        RefreshTokenRotation.Outcome outcome = RefreshTokenRotation.Outcome.valueOf(String.valueOf(result.get(0)));
+        String userId = result.size() > 1 ? String.valueOf(result.get(1)) : null;
+        Instant expiresAt = result.size() > 2 ? Instant.ofEpochMilli(Long.parseLong(String.valueOf(result.get(2)))) : null;
+        String sessionJti = result.size() > 3 && !String.valueOf(result.get(3)).isEmpty() ? String.valueOf(result.get(3)) : null;
+        return new RefreshTokenRotation(outcome, userId, expiresAt, sessionJti);
+    }
+
+    @Override
+    public boolean revoke(String token) {
+        String digest = digest(token);
+        Long revoked = redisTemplate.execute(REVOKE_SCRIPT, List.of(TOKEN_KEY_PREFIX + digest), digest, USER_KEY_PREFIX);
+        return revoked != null && revoked == 1L;
+    }
+
+    @Override
+    public void revokeAll(String userId) {
+        redisTemplate.execute(REVOKE_ALL_SCRIPT, List.of(USER_KEY_PREFIX + userId), TOKEN_KEY_PREFIX);
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        // 过期的 Token 和用户集合由 Redis 按 TTL 自动删除
+        return 0;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
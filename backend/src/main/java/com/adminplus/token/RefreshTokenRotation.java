@@ -0,0 +1,43 @@
+package com.adminplus.token;
+
+import java.time.Instant;
+
+/**
+ * Refresh Token 轮换结果
+ *
+ * @param outcome    轮换结果类型
+ * @param userId     Token 所属用户（Token 不存在时为 null）
+ * @param expiresAt  新 Token 的过期时间（仅轮换成功时有值）
+ * @param sessionJti 被替换的会话对应的 Access Token jti（仅轮换成功时有值）
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record RefreshTokenRotation(Outcome outcome, String userId, Instant expiresAt, String sessionJti) {
+
+    public enum Outcome {
+
+        /**
+         * 轮换成功（包括宽限期内的重试）
+         */
+        ROTATED,
+
+        /**
+         * Token 不存在或已撤销
+         */
+        NOT_FOUND,
+
+        /**
+         * Token 已过期
+         */
+        EXPIRED,
+
+        /**
+         * Token 已被使用过且不属于宽限期内的重试（疑似被盗用），用户的所有 Refresh Token 已撤销
+         */
+        REUSED
+    }
+
+    static RefreshTokenRotation notFound() {
+        return new RefreshTokenRotation(Outcome.NOT_FOUND, null, null, null);
+    }
+}
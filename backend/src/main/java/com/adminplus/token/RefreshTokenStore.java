@@ -0,0 +1,55 @@
+package com.adminplus.token;
+
+import java.time.Instant;
+
+/**
+ * Refresh Token 存储
+ * 每次刷新都轮换 Token：旧 Token 标记为已使用并签发新 Token（沿用原过期时间），
+ * 已使用的 Token 再次出现说明可能被盗用，此时撤销该用户的所有 Refresh Token；
+ * 但轮换后很快再次提交、且上次签发的新 Token 尚未使用时，视为客户端未收到响应而重试，作废上次签发的 Token 后重新签发
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * 保存新签发的 Refresh Token，并撤销该用户已有的 Refresh Token
+     *
+     * @param userId     用户ID
+     * @param token      Refresh Token
+     * @param sessionJti 同时签发的 Access Token 的 jti（用于刷新时迁移在线会话）
+     * @param expiresAt  过期时间
+     */
+    void issue(String userId, String token, String sessionJti, Instant expiresAt);
+
+    /**
+     * 轮换 Refresh Token
+     *
+     * @param token         客户端提交的 Refresh Token
+     * @param newToken      轮换后的新 Token（仅在成功时保存）
+     * @param newSessionJti 新 Access Token 的 jti，与新 Token 一起保存
+     * @param now           当前时间
+     * @return 轮换结果（成功时携带旧 Token 上记录的 jti）
+     */
+    RefreshTokenRotation rotate(String token, String newToken, String newSessionJti, Instant now);
+
+    /**
+     * 撤销单个 Refresh Token
+     *
+     * @return Token 是否存在
+     */
+    boolean revoke(String token);
+
+    /**
+     * 撤销用户的所有 Refresh Token
+     */
+    void revokeAll(String userId);
+
+    /**
+     * 清理已过期的 Refresh Token
+     *
+     * @return 清理的数量
+     */
+    int purgeExpired(Instant now);
+}
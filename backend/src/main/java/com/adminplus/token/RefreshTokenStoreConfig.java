@@ -0,0 +1,39 @@
+package com.adminplus.token;
+
+import com.adminplus.repository.RefreshTokenRepository;
+import com.adminplus.util.SnowflakeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Refresh Token 存储配置
+ * 默认存放在 Redis 中按 TTL 过期；单节点部署可配置 refresh-token.store=jpa 使用数据库
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Configuration
+public class RefreshTokenStoreConfig {
+
+    @Bean
+    public RefreshTokenStore refreshTokenStore(@Value("${refresh-token.store:redis}") String store,
+                                               ObjectProvider<StringRedisTemplate> redisTemplate,
+                                               @Value("${refresh-token.purge-batch-size:1000}") int purgeBatchSize,
+                                               @Value("${refresh-token.reuse-grace:30s}") Duration reuseGrace,
+                                               RefreshTokenRepository refreshTokenRepository,
+                                               SnowflakeIdGenerator snowflakeIdGenerator) {
+        log.info("Refresh Token 存储: {}", store);
+        return switch (store) {
+            case "redis" -> new RedisRefreshTokenStore(redisTemplate.getObject(), reuseGrace);
+            case "jpa" -> new JpaRefreshTokenStore(refreshTokenRepository, snowflakeIdGenerator, purgeBatchSize, reuseGrace);
+            default -> throw new IllegalStateException("不支持的 Refresh Token 存储: " + store);
+        };
+    }
+}
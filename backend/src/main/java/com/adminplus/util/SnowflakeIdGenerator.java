@@ -1,137 +1,213 @@
 package com.adminplus.util;
 
-import org.springframework.stereotype.Component;
-
-import java.net.NetworkInterface;
-import java.security.SecureRandom;
-import java.time.Instant;
-import java.util.Enumeration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * 雪花ID生成器
  * 结构：
- * 1位符号位 + 41位时间戳 + 10位机器ID + 12位序列号
- * 
+ * 1位符号位 + 41位时间戳 + 10位节点ID + 12位序列号
+ * <p>
+ * 上一次分配的时间戳和序列号打包在一个 AtomicLong 中，通过 CAS 无锁分配，不分配对象；
+ * 同一毫秒内序列号用尽时直接进位到下一毫秒（最多领先系统时钟 {@value #MAX_BORROW_MILLIS} 毫秒），不再自旋等待；
+ * 时钟小幅回拨时等待时钟追上，回拨超过 {@value #MAX_BACKWARD_MILLIS} 毫秒则拒绝生成；
+ * 节点ID由租约分配时，超过租约有效期（续约失败或租约丢失）后拒绝生成，避免与重新租到该节点ID的实例产生重复ID
+ *
  * @author AdminPlus
  * @since 2026-02-09
  */
-@Component
-public class SnowflakeIdGenerator {
-    
+public final class SnowflakeIdGenerator {
+
     // 起始时间戳 (2026-02-09 00:00:00)
     private static final long EPOCH = 1707494400000L;
-    
-    // 机器ID位数
-    private static final long WORKER_ID_BITS = 5L;
-    private static final long DATACENTER_ID_BITS = 5L;
-    
-    // 最大机器ID
-    private static final long MAX_WORKER_ID = ~(-1L << WORKER_ID_BITS);
-    private static final long MAX_DATACENTER_ID = ~(-1L << DATACENTER_ID_BITS);
-    
+
+    // 节点ID位数（原 5 位数据中心ID + 5 位机器ID）
+    private static final int NODE_ID_BITS = 10;
+
     // 序列号位数
-    private static final long SEQUENCE_BITS = 12L;
-    
+    private static final int SEQUENCE_BITS = 12;
+
+    // 最大节点ID
+    public static final long MAX_NODE_ID = ~(-1L << NODE_ID_BITS);
+
+    // 单次预留的最大ID数
+    public static final int MAX_RESERVE = 1 << SEQUENCE_BITS;
+
     // 移位
-    private static final long WORKER_ID_SHIFT = SEQUENCE_BITS;
-    private static final long DATACENTER_ID_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
-    private static final long TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATACENTER_ID_BITS;
-    
+    private static final int NODE_ID_SHIFT = SEQUENCE_BITS;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + NODE_ID_BITS;
+
     // 序列号掩码
     private static final long SEQUENCE_MASK = ~(-1L << SEQUENCE_BITS);
-    
-    private final long workerId;
-    private final long datacenterId;
-    private long sequence = 0L;
-    private long lastTimestamp = -1L;
-    
+
+    // 允许领先系统时钟的毫秒数
+    private static final long MAX_BORROW_MILLIS = 5L;
+
+    // 可等待的最大时钟回拨毫秒数
+    private static final long MAX_BACKWARD_MILLIS = 1000L;
+
+    /**
+     * 最后分配的 (时间戳 - EPOCH) << SEQUENCE_BITS | 序列号
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    private volatile long nodeBits;
+
     /**
-     * 构造函数，自动生成机器ID和数据中心ID
+     * 节点ID租约的有效期截止时间（毫秒时间戳），不使用租约时为 Long.MAX_VALUE
      */
-    public SnowflakeIdGenerator() {
-        this.datacenterId = getDatacenterId();
-        this.workerId = getWorkerId(datacenterId);
+    private volatile long leaseValidUntil = Long.MAX_VALUE;
+
+    public SnowflakeIdGenerator(long nodeId) {
+        setNodeId(nodeId);
     }
-    
+
     /**
-     * 生成雪花ID
+     * 设置固定的节点ID（不受租约限制）
      */
-    public synchronized String nextId() {
-        long timestamp = timeGen();
-        
-        if (timestamp < lastTimestamp) {
-            throw new RuntimeException(
-                String.format("Clock moved backwards. Refusing to generate id for %d milliseconds", 
-                    lastTimestamp - timestamp));
-        }
-        
-        if (lastTimestamp == timestamp) {
-            sequence = (sequence + 1) & SEQUENCE_MASK;
-            if (sequence == 0) {
-                timestamp = tilNextMillis(lastTimestamp);
-            }
-        } else {
-            sequence = 0L;
-        }
-        
-        lastTimestamp = timestamp;
-        
-        return String.valueOf(((timestamp - EPOCH) << TIMESTAMP_SHIFT) |
-                (datacenterId << DATACENTER_ID_SHIFT) |
-                (workerId << WORKER_ID_SHIFT) |
-                sequence);
+    public void setNodeId(long nodeId) {
+        this.nodeBits = nodeBits(nodeId);
+        this.leaseValidUntil = Long.MAX_VALUE;
     }
-    
+
     /**
-     * 获取下一个时间戳
+     * 更新节点ID租约（租用、续约、重新分配或丢失时调用）
+     * 切换节点ID时先停止生成，再切换并恢复，期间不会以新旧混合的状态生成ID
+     *
+     * @param nodeId     租用的节点ID
+     * @param validUntil 租约有效期截止时间（毫秒时间戳），0 表示未持有租约
      */
-    private long tilNextMillis(long lastTimestamp) {
-        long timestamp = timeGen();
-        while (timestamp <= lastTimestamp) {
-            timestamp = timeGen();
+    public void lease(long nodeId, long validUntil) {
+        long bits = nodeBits(nodeId);
+        if (bits != nodeBits) {
+            leaseValidUntil = 0L;
+            nodeBits = bits;
         }
-        return timestamp;
+        leaseValidUntil = validUntil;
+    }
+
+    /**
+     * 当前节点ID
+     */
+    public long getNodeId() {
+        return nodeBits >>> NODE_ID_SHIFT;
+    }
+
+    /**
+     * 生成雪花ID
+     */
+    public String nextId() {
+        return Long.toString(nextLongId());
     }
-    
+
+    /**
+     * 生成数值形式的雪花ID
+     */
+    public long nextLongId() {
+        return compose(advance(1), nodeBits);
+    }
+
     /**
-     * 获取当前时间戳
+     * 一次预留 count 个连续分配的ID，用于批量插入
+     * 预留只需一次 CAS，返回的 {@link IdBlock} 不是线程安全的，应由调用线程独自使用
+     *
+     * @param count 预留数量，范围 1 ~ {@value #MAX_RESERVE}
      */
-    private long timeGen() {
-        return Instant.now().toEpochMilli();
+    public IdBlock reserve(int count) {
+        if (count < 1 || count > MAX_RESERVE) {
+            throw new IllegalArgumentException("预留数量超出范围: " + count);
+        }
+        return new IdBlock(advance(count), count, nodeBits);
     }
-    
+
     /**
-     * 获取数据中心ID
+     * 分配 count 个连续的状态值
+     *
+     * @return 第一个状态值
      */
-    private long getDatacenterId() {
-        long id = 0L;
-        try {
-            Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
-            while (interfaces.hasMoreElements()) {
-                NetworkInterface networkInterface = interfaces.nextElement();
-                byte[] mac = networkInterface.getHardwareAddress();
-                if (mac != null) {
-                    id = ((0x000000FF & (long) mac[mac.length - 1]) |
-                          (0x0000FF00 & (((long) mac[mac.length - 2]) << 8))) >> 6;
-                    id = id % (MAX_DATACENTER_ID + 1);
+    private long advance(int count) {
+        while (true) {
+            long current = state.get();
+            long wallClock = System.currentTimeMillis();
+            if (wallClock >= leaseValidUntil) {
+                throw new IllegalStateException("雪花算法节点ID租约已失效，暂停生成ID");
+            }
+            long now = wallClock - EPOCH;
+            long last = current >>> SEQUENCE_BITS;
+
+            long first;
+            if (now > last) {
+                first = now << SEQUENCE_BITS;
+            } else {
+                long ahead = last - now;
+                if (ahead > MAX_BORROW_MILLIS) {
+                    awaitClock(ahead);
+                    continue;
                 }
+                // 序列号溢出时自然进位到下一毫秒
+                first = current + 1;
+            }
+
+            if (state.compareAndSet(current, first + count - 1)) {
+                return first;
             }
-        } catch (Exception e) {
-            // 如果获取失败，使用随机数
-            id = new SecureRandom().nextInt((int) (MAX_DATACENTER_ID + 1));
         }
-        return id;
     }
-    
+
+    private static long nodeBits(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("节点ID超出范围: " + nodeId);
+        }
+        return nodeId << NODE_ID_SHIFT;
+    }
+
+    private static void awaitClock(long ahead) {
+        if (ahead > MAX_BACKWARD_MILLIS) {
+            throw new IllegalStateException(
+                    String.format("Clock moved backwards. Refusing to generate id for %d milliseconds", ahead));
+        }
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(ahead - MAX_BORROW_MILLIS));
+    }
+
+    private static long compose(long packed, long nodeBits) {
+        return ((packed >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | nodeBits | (packed & SEQUENCE_MASK);
+    }
+
     /**
-     * 获取机器ID
+     * 预留的一段ID
      */
-    private long getWorkerId(long datacenterId) {
-        String hostname = System.getenv("HOSTNAME");
-        if (hostname != null) {
-            return Math.abs(hostname.hashCode()) % (MAX_WORKER_ID + 1);
+    public static final class IdBlock {
+
+        private final long first;
+        private final int size;
+        private final long nodeBits;
+        private int position;
+
+        private IdBlock(long first, int size, long nodeBits) {
+            this.first = first;
+            this.size = size;
+            this.nodeBits = nodeBits;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        public long nextLongId() {
+            if (position >= size) {
+                throw new NoSuchElementException("预留的ID已用完");
+            }
+            return compose(first + position++, nodeBits);
+        }
+
+        public String nextId() {
+            return Long.toString(nextLongId());
         }
-        // 如果获取失败，使用随机数
-        return new SecureRandom().nextInt((int) (MAX_WORKER_ID + 1));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package com.adminplus.util;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * 雪花算法节点ID租约
+ * 节点ID优先使用 snowflake.node-id 配置；未配置时由主机名经 CRC32 确定首选值，被占用则依次尝试后续的ID。
+ * 每个节点ID在 Redis 中以 SET NX PX 租用并定期续约，两个实例不会同时持有同一个ID；
+ * 续约时发现租约已被其他实例占用（如长时间停顿后过期），重新分配节点ID并通知生成器。
+ * 每次租用或续约成功后，按请求发出前的本地时间加租约时长、减去安全余量计算有效期并通知生成器，生成器超过有效期即拒绝生成；
+ * 续约失败时有效期不再延长，租约确认丢失且无法重新租用时立即停止生成，直到重新持有租约。
+ * 启动时必须租用成功，Redis 不可用时直接中止启动，不会以未租用的节点ID签发ID
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Component
+public class SnowflakeNodeLease {
+
+    private static final String KEY_PREFIX = "snowflake:node:";
+
+    /**
+     * 仍由自己持有时续约
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * 仍由自己持有时释放
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * 租约变化回调
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param nodeId     当前节点ID
+         * @param validUntil 租约有效期截止时间（毫秒时间戳），0 表示未持有租约
+         */
+        void leased(long nodeId, long validUntil);
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration leaseTtl;
+    private final long validMillis;
+    private final boolean configured;
+    private final String owner;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile long nodeId;
+    private volatile boolean held;
+    private volatile long validUntil;
+
+    public SnowflakeNodeLease(StringRedisTemplate redisTemplate,
+                              @Value("${snowflake.node-id:-1}") long configuredNodeId,
+                              @Value("${snowflake.lease-ttl:60s}") Duration leaseTtl,
+                              @Value("${snowflake.lease-safety-margin:5s}") Duration safetyMargin) {
+        if (safetyMargin.compareTo(leaseTtl) >= 0) {
+            throw new IllegalStateException("snowflake.lease-safety-margin 必须小于 snowflake.lease-ttl");
+        }
+        this.redisTemplate = redisTemplate;
+        this.leaseTtl = leaseTtl;
+        this.validMillis = leaseTtl.minus(safetyMargin).toMillis();
+        this.configured = configuredNodeId >= 0;
+        String hostname = hostname();
+        this.owner = hostname + ":" + UUID.randomUUID();
+        this.nodeId = configured ? configuredNodeId : preferredNodeId(hostname);
+
+        try {
+            long start = System.currentTimeMillis();
+            acquire();
+            validUntil = start + validMillis;
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            // 未持有租约时首选ID可能与其他实例重复，生成的主键会冲突
+            throw new IllegalStateException("租用雪花算法节点ID失败，Redis 不可用", e);
+        }
+        log.info("雪花算法节点ID: {}", nodeId);
+    }
+
+    /**
+     * 当前节点ID
+     */
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 注册租约变化的回调，注册时立即以当前租约回调一次
+     */
+    public void onLeaseChanged(Listener listener) {
+        listeners.add(listener);
+        listener.leased(nodeId, validUntil);
+    }
+
+    /**
+     * 续约；租约已丢失时重新租用，无法重新租用时停止生成ID直到下次续约成功
+     */
+    @Scheduled(fixedDelayString = "${snowflake.lease-renew-interval:10s}",
+            initialDelayString = "${snowflake.lease-renew-interval:10s}")
+    public void renew() {
+        long start = System.currentTimeMillis();
+        try {
+            if (held && Long.valueOf(1L).equals(redisTemplate.execute(RENEW_SCRIPT, List.of(key(nodeId)),
+                    owner, String.valueOf(leaseTtl.toMillis())))) {
+                publish(start + validMillis);
+                return;
+            }
+            if (held) {
+                log.error("雪花算法节点ID租约已丢失，暂停生成ID: {}", nodeId);
+                held = false;
+                publish(0L);
+            }
+
+            long previous = nodeId;
+            acquire();
+            if (nodeId != previous) {
+                log.warn("雪花算法节点ID已切换: {} -> {}", previous, nodeId);
+            } else {
+                log.info("已重新租用雪花算法节点ID: {}", nodeId);
+            }
+            publish(start + validMillis);
+        } catch (Exception e) {
+            // 续约请求失败时租约可能仍然有效，有效期不再延长，到期后生成器自动停止；确认未持有租约时已停止生成
+            log.error("雪花算法节点ID续约失败（held={}，有效期至 {}）: {}", held, validUntil, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (!held) {
+            return;
+        }
+        publish(0L);
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key(nodeId)), owner);
+            held = false;
+        } catch (Exception e) {
+            // 租约会在过期后自动释放
+            log.warn("释放雪花算法节点ID失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从当前ID开始依次尝试租用；配置了节点ID时只租用该ID，被占用说明配置重复
+     */
+    private void acquire() {
+        if (configured) {
+            if (!tryLease(nodeId)) {
+                throw new IllegalStateException("雪花算法节点ID已被其他实例占用: " + nodeId);
+            }
+            return;
+        }
+
+        for (long i = 0; i <= SnowflakeIdGenerator.MAX_NODE_ID; i++) {
+            long candidate = (nodeId + i) & SnowflakeIdGenerator.MAX_NODE_ID;
+            if (tryLease(candidate)) {
+                nodeId = candidate;
+                return;
+            }
+        }
+        throw new IllegalStateException("没有可用的雪花算法节点ID");
+    }
+
+    private void publish(long validUntil) {
+        this.validUntil = validUntil;
+        listeners.forEach(listener -> listener.leased(nodeId, validUntil));
+    }
+
+    private boolean tryLease(long candidate) {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key(candidate), owner, leaseTtl);
+        held = Boolean.TRUE.equals(acquired);
+        return held;
+    }
+
+    private static String key(long nodeId) {
+        return KEY_PREFIX + nodeId;
+    }
+
+    private static long preferredNodeId(String hostname) {
+        CRC32 crc = new CRC32();
+        crc.update(hostname.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue() & SnowflakeIdGenerator.MAX_NODE_ID;
+    }
+
+    private static String hostname() {
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname != null && !hostname.isBlank()) {
+            return hostname;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "localhost";
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package com.adminplus.utils;
 
+import com.adminplus.excel.ExcelBatchSink;
+import com.adminplus.excel.ExcelImportResult;
+import com.adminplus.excel.StreamingExcelReader;
+import com.adminplus.excel.StreamingExcelWriter;
 import jakarta.servlet.http.HttpServletResponse;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.lang.reflect.Field;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Excel 工具类
@@ -25,131 +28,67 @@ public class ExcelUtils {
      * 导出 Excel
      */
     public static <T> void exportExcel(HttpServletResponse response, List<T> data, String fileName, Class<T> clazz) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Sheet1");
-
-            // 获取字段列表
-            Field[] fields = clazz.getDeclaredFields();
-            List<String> headers = new ArrayList<>();
-            for (Field field : fields) {
-                headers.add(field.getName());
-            }
-
-            // 创建表头
-            Row headerRow = sheet.createRow(0);
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerStyle.setFont(headerFont);
-
-            for (int i = 0; i < headers.size(); i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers.get(i));
-                cell.setCellStyle(headerStyle);
-            }
-
-            // 填充数据
-            for (int i = 0; i < data.size(); i++) {
-                Row row = sheet.createRow(i + 1);
-                T item = data.get(i);
-
-                for (int j = 0; j < fields.length; j++) {
-                    try {
-                        fields[j].setAccessible(true);
-                        Object value = fields[j].get(item);
-                        Cell cell = row.createCell(j);
-                        if (value != null) {
-                            cell.setCellValue(value.toString());
-                        }
-                    } catch (IllegalAccessException e) {
-                        // 忽略无法访问的字段
-                    }
-                }
-            }
-
-            // 设置响应头
-            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-            response.setCharacterEncoding("utf-8");
-            String encodedFileName = URLEncoder.encode(fileName + ".xlsx", StandardCharsets.UTF_8)
-                    .replaceAll("\\+", "%20");
-            response.setHeader("Content-disposition", "attachment;filename*=utf-8''" + encodedFileName);
-
-            // 写入输出流
-            try (OutputStream out = response.getOutputStream()) {
-                workbook.write(out);
-            }
+        try (StreamingExcelWriter<T> writer = new StreamingExcelWriter<>(clazz, "Sheet1")) {
+            writer.write(data);
+            prepareResponse(response, fileName);
+            writer.finish(response.getOutputStream());
         }
     }
 
     /**
-     * 导入 Excel
+     * 流式导出 Excel
+     * 数据流通常来自数据库游标（需在只读事务中调用），逐行写出，内存占用与行数无关
      */
-    public static <T> List<T> importExcel(MultipartFile file, Class<T> clazz) throws IOException {
-        List<T> result = new ArrayList<>();
-
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            Field[] fields = clazz.getDeclaredFields();
-
-            // 从第二行开始读取（第一行是表头）
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                try {
-                    T instance = clazz.getDeclaredConstructor().newInstance();
-
-                    for (int j = 0; j < fields.length && j < row.getLastCellNum(); j++) {
-                        Cell cell = row.getCell(j);
-                        if (cell != null) {
-                            fields[j].setAccessible(true);
-                            String value = getCellValueAsString(cell);
-                            setFieldValue(instance, fields[j], value);
-                        }
-                    }
-
-                    result.add(instance);
-                } catch (Exception e) {
-                    // 忽略行解析错误
-                }
-            }
+    public static <T> void exportExcel(HttpServletResponse response, Stream<T> data, String fileName, Class<T> clazz) throws IOException {
+        try (StreamingExcelWriter<T> writer = new StreamingExcelWriter<>(clazz, "Sheet1")) {
+            writer.write(data);
+            prepareResponse(response, fileName);
+            writer.finish(response.getOutputStream());
         }
+    }
 
-        return result;
+    /**
+     * 设置 Excel 下载响应头
+     */
+    public static void prepareResponse(HttpServletResponse response, String fileName) {
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setCharacterEncoding("utf-8");
+        String encodedFileName = URLEncoder.encode(fileName + ".xlsx", StandardCharsets.UTF_8)
+                .replaceAll("\\+", "%20");
+        response.setHeader("Content-disposition", "attachment;filename*=utf-8''" + encodedFileName);
     }
 
     /**
-     * 获取单元格值
+     * 导入 Excel
+     * 适用于数据量较小的场景，全部数据保存在内存中；大文件请使用批处理重载
      */
-    private static String getCellValueAsString(Cell cell) {
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue();
-            case NUMERIC -> String.valueOf(cell.getNumericCellValue());
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            case FORMULA -> cell.getCellFormula();
-            default -> "";
-        };
+    public static <T> List<T> importExcel(MultipartFile file, Class<T> clazz) throws IOException {
+        List<T> result = new ArrayList<>();
+        importExcel(file, clazz, StreamingExcelReader.DEFAULT_BATCH_SIZE, rows -> {
+            rows.forEach(row -> result.add(row.value()));
+            return List.of();
+        });
+        return result;
     }
 
     /**
-     * 设置字段值
+     * 流式导入 Excel
+     * 上传文件先落盘为临时文件再按 SAX 事件逐行解析，每攒满一批交给 sink 处理
+     *
+     * @param file      上传的 xlsx 文件
+     * @param clazz     行数据类型
+     * @param batchSize 批大小
+     * @param sink      批次处理器，返回被拒绝的行
+     * @return 导入结果（含失败行明细）
      */
-    private static void setFieldValue(Object instance, Field field, String value) throws IllegalAccessException {
+    public static <T> ExcelImportResult importExcel(MultipartFile file, Class<T> clazz, int batchSize,
+                                                    ExcelBatchSink<T> sink) throws IOException {
+        Path tempFile = Files.createTempFile("excel-import-", ".xlsx");
         try {
-            Class<?> type = field.getType();
-            if (type == String.class) {
-                field.set(instance, value);
-            } else if (type == Integer.class || type == int.class) {
-                field.set(instance, Integer.parseInt(value));
-            } else if (type == Long.class || type == long.class) {
-                field.set(instance, Long.parseLong(value));
-            } else if (type == Double.class || type == double.class) {
-                field.set(instance, Double.parseDouble(value));
-            } else if (type == Boolean.class || type == boolean.class) {
-                field.set(instance, Boolean.parseBoolean(value));
-            }
-        } catch (NumberFormatException e) {
-            // 忽略数字转换错误
+            file.transferTo(tempFile);
+            return StreamingExcelReader.read(tempFile, clazz, batchSize, sink);
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package com.adminplus.utils;
 
 import com.adminplus.security.CustomUserDetails;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 
@@ -114,6 +116,33 @@ public class SecurityUtils {
         throw new RuntimeException("未知的认证类型: " + principal.getClass().getName());
     }
 
+    /**
+     * 检查当前用户是否拥有指定的权限标识
+     */
+    public static boolean hasAuthority(String authority) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (authority.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 要求当前用户拥有指定的权限标识（未启用方法级安全，@PreAuthorize 不生效时在服务层校验）
+     *
+     * @throws AccessDeniedException 缺少该权限
+     */
+    public static void requireAuthority(String authority) {
+        if (!hasAuthority(authority)) {
+            throw new AccessDeniedException("缺少权限 " + authority);
+        }
+    }
+
     /**
      * 检查是否已登录
      */
@@ -0,0 +1,53 @@
+package com.adminplus.vo;
+
+import java.util.List;
+
+/**
+ * Dashboard 概览视图对象
+ * 各组件独立加载，超时或失败的组件为 null，并记录在 unavailableWidgets 中
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record DashboardOverviewVO(
+        /**
+         * 统计数据
+         */
+        DashboardStatsVO stats,
+
+        /**
+         * 用户增长趋势
+         */
+        ChartDataVO userGrowth,
+
+        /**
+         * 角色分布
+         */
+        ChartDataVO roleDistribution,
+
+        /**
+         * 菜单类型分布
+         */
+        ChartDataVO menuDistribution,
+
+        /**
+         * 最近操作日志
+         */
+        List<OperationLogVO> recentLogs,
+
+        /**
+         * 在线用户
+         */
+        List<OnlineUserVO> onlineUsers,
+
+        /**
+         * 系统信息
+         */
+        SystemInfoVO systemInfo,
+
+        /**
+         * 未能在超时时间内加载的组件
+         */
+        List<String> unavailableWidgets
+) {
+}
@@ -0,0 +1,64 @@
+package com.adminplus.vo;
+
+import com.adminplus.constants.ExportJobStatus;
+
+import java.time.Instant;
+
+/**
+ * 导出任务视图对象
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record ExportJobVO(
+        /**
+         * 任务ID
+         */
+        String id,
+
+        /**
+         * 导出名称（同时作为下载文件名）
+         */
+        String name,
+
+        /**
+         * 任务状态
+         */
+        ExportJobStatus status,
+
+        /**
+         * 预计总行数，未知时为 -1
+         */
+        long totalRows,
+
+        /**
+         * 已写出的行数
+         */
+        long processedRows,
+
+        /**
+         * 进度百分比（0-100）
+         */
+        int percent,
+
+        /**
+         * 文件大小（字节），完成后可用
+         */
+        long fileSize,
+
+        /**
+         * 失败原因
+         */
+        String errorMessage,
+
+        /**
+         * 创建时间
+         */
+        Instant createTime,
+
+        /**
+         * 完成时间
+         */
+        Instant finishTime
+) {
+}
@@ -0,0 +1,38 @@
+package com.adminplus.vo;
+
+import com.adminplus.excel.ExcelColumn;
+
+import java.time.Instant;
+
+/**
+ * 操作日志导出行
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record LogExportVO(
+        @ExcelColumn(value = "操作时间", width = 20)
+        Instant createTime,
+
+        @ExcelColumn(value = "操作人", width = 20)
+        String username,
+
+        @ExcelColumn(value = "操作模块", width = 16)
+        String module,
+
+        @ExcelColumn(value = "操作类型（1=查询，2=新增，3=修改，4=删除，5=导出，6=导入，7=其他）", width = 12)
+        Integer operationType,
+
+        @ExcelColumn(value = "操作描述", width = 50)
+        String description,
+
+        @ExcelColumn(value = "IP地址", width = 16)
+        String ip,
+
+        @ExcelColumn(value = "状态（1=成功，0=失败）", width = 12)
+        Integer status,
+
+        @ExcelColumn(value = "执行时长（毫秒）", width = 12)
+        Long costTime
+) {
+}
@@ -37,6 +37,11 @@ public record OnlineUserVO(
         /**
          * 操作系统
          */
-        String os
+        String os,
+
+        /**
+         * 最后活跃时间
+         */
+        Instant lastActiveTime
 ) {
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.adminplus.vo;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * 分页结果视图对象
@@ -16,7 +17,7 @@ public record PageResultVO<T>(
         List<T> records,
 
         /**
-         * 总记录数
+         * 总记录数（游标分页未统计时为 null）
          */
         Long total,
 
@@ -28,5 +29,33 @@ public record PageResultVO<T>(
         /**
          * 每页大小
          */
-        Integer size
-) {}
\ No newline at end of file
+        Integer size,
+
+        /**
+         * 下一页游标，没有更多数据时为 null
+         */
+        String nextCursor,
+
+        /**
+         * 是否还有更多数据
+         */
+        Boolean hasMore,
+
+        /**
+         * 总记录数是否为估算值
+         */
+        Boolean totalEstimated
+) {
+
+    public PageResultVO(List<T> records, Long total, Integer page, Integer size) {
+        this(records, total, page, size, null, null, false);
+    }
+
+    /**
+     * 转换数据列表，保留分页信息
+     */
+    public <R> PageResultVO<R> map(Function<? super T, ? extends R> mapper) {
+        return new PageResultVO<>(records.stream().<R>map(mapper).toList(),
+                total, page, size, nextCursor, hasMore, totalEstimated);
+    }
+}
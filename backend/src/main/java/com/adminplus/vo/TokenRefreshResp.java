@@ -0,0 +1,22 @@
+package com.adminplus.vo;
+
+/**
+ * 刷新 Token 响应
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record TokenRefreshResp(
+        /**
+         * 新的 Access Token
+         */
+        String token,
+
+        /**
+         * 轮换后的 Refresh Token，原 Refresh Token 已失效
+         */
+        String refreshToken,
+
+        String tokenType
+) {
+}
@@ -0,0 +1,35 @@
+package com.adminplus.vo;
+
+import com.adminplus.excel.ExcelColumn;
+
+import java.time.Instant;
+
+/**
+ * 用户导出行
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+public record UserExportVO(
+        @ExcelColumn(value = "用户ID", width = 22)
+        String id,
+
+        @ExcelColumn(value = "用户名", width = 20)
+        String username,
+
+        @ExcelColumn(value = "昵称", width = 20)
+        String nickname,
+
+        @ExcelColumn(value = "邮箱", width = 30)
+        String email,
+
+        @ExcelColumn(value = "手机号", width = 16)
+        String phone,
+
+        @ExcelColumn(value = "状态（1=正常，0=禁用）", width = 12)
+        Integer status,
+
+        @ExcelColumn(value = "创建时间", width = 20)
+        Instant createTime
+) {
+}
@@ -0,0 +1,133 @@
+package com.adminplus.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 登录吞吐基准测试
+ * 在虚拟线程上并发执行相同的登录负载，对比 {@link PooledPasswordEncoder} + {@link UserDetailsCache} 与未缓存、
+ * 直接在请求线程中执行 BCrypt 的原始路径。用户加载模拟一次数据库往返；吞吐与硬件相关，只输出不断言，
+ * 断言只覆盖认证结果和用户加载次数。默认测试不运行，使用 mvn test -Pbenchmark 单独运行
+ *
+ * @author AdminPlus
+ * @since 2026-10-18
+ */
+@Slf4j
+@Tag("benchmark")
+class LoginThroughputBenchmarkTest {
+
+    private static final int BCRYPT_STRENGTH = 10;
+    private static final int USERS = 20;
+    private static final int LOGINS_PER_USER = 10;
+    private static final long LOAD_LATENCY_MILLIS = 5;
+    private static final String PASSWORD = "Benchmark@123";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private PasswordEncoder bcrypt;
+    private String encodedPassword;
+    private PooledPasswordEncoder pooledEncoder;
+
+    @BeforeEach
+    void setUp() {
+        bcrypt = new BCryptPasswordEncoder(BCRYPT_STRENGTH);
+        encodedPassword = bcrypt.encode(PASSWORD);
+        pooledEncoder = new PooledPasswordEncoder(bcrypt, Runtime.getRuntime().availableProcessors(),
+                USERS * LOGINS_PER_USER, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pooledEncoder.shutdown();
+    }
+
+    @Test
+    void pooledEncoderWithUserCacheVersusUncachedPath() throws Exception {
+        DaoAuthenticationProvider uncached = new DaoAuthenticationProvider(userDetailsService());
+        uncached.setPasswordEncoder(bcrypt);
+
+        DaoAuthenticationProvider cached = new DaoAuthenticationProvider(userDetailsService());
+        cached.setPasswordEncoder(pooledEncoder);
+        cached.setUserCache(new UserDetailsCache(mock(PermissionSnapshotService.class), mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class), Duration.ofMinutes(5), USERS));
+
+        // 预热：加载 BCrypt 相关类并触发 JIT
+        run(uncached);
+        run(cached);
+
+        loads.set(0);
+        double uncachedThroughput = run(uncached);
+        int uncachedLoads = loads.getAndSet(0);
+        double cachedThroughput = run(cached);
+        int cachedLoads = loads.get();
+
+        log.info("登录吞吐（{} 次，BCrypt 强度 {}）：未缓存 {} 次/秒（加载用户 {} 次），线程池+缓存 {} 次/秒（加载用户 {} 次）",
+                USERS * LOGINS_PER_USER, BCRYPT_STRENGTH, String.format("%.1f", uncachedThroughput), uncachedLoads,
+                String.format("%.1f", cachedThroughput), cachedLoads);
+
+        assertEquals(USERS * LOGINS_PER_USER, uncachedLoads);
+        // 预热已将所有用户放入缓存，正式测量中不再加载
+        assertEquals(0, cachedLoads);
+    }
+
+    /**
+     * 每个用户并发登录 LOGINS_PER_USER 次，返回每秒成功登录次数
+     */
+    private double run(DaoAuthenticationProvider provider) throws Exception {
+        List<Future<Authentication>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < USERS * LOGINS_PER_USER; i++) {
+                String username = "user" + (i % USERS);
+                results.add(executor.submit(() -> provider.authenticate(
+                        UsernamePasswordAuthenticationToken.unauthenticated(username, PASSWORD))));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        for (Future<Authentication> result : results) {
+            assertTrue(result.get().isAuthenticated());
+        }
+        return results.size() / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * 模拟一次数据库往返的用户加载
+     */
+    private UserDetailsService userDetailsService() {
+        return username -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(LOAD_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new CustomUserDetails(username, username, encodedPassword, username,
+                    null, null, null, 1, List.of("ROLE_USER"), List.of());
+        };
+    }
+}
@@ -110,7 +110,7 @@ CREATE TABLE sys_dict_item (
 
 -- 创建操作日志表
 CREATE TABLE sys_log (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     user_id BIGINT,
     username TEXT,
     module TEXT,
@@ -127,12 +127,37 @@ CREATE TABLE sys_log (
     error_msg TEXT,
     create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     update_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    deleted BOOLEAN NOT NULL DEFAULT FALSE
-);
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id, create_time)
+) PARTITION BY RANGE (create_time);
+
+-- 操作日志按月分区（分区名 sys_log_yyyyMM），应用启动时会预建后续月份的分区并删除超过保留期的分区；
+-- 分区边界固定按 UTC 划分（与应用一致），不受会话时区影响；默认分区用于兜底，正常情况下不应有数据
+CREATE TABLE sys_log_default PARTITION OF sys_log DEFAULT;
+
+DO $$
+DECLARE
+    month_start TIMESTAMP;
+BEGIN
+    FOR i IN 0..2 LOOP
+        month_start := date_trunc('month', now() AT TIME ZONE 'UTC') + make_interval(months => i);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF sys_log FOR VALUES FROM (%L) TO (%L)',
+                       'sys_log_' || to_char(month_start, 'YYYYMM'),
+                       to_char(month_start, 'YYYY-MM-DD"T"HH24:MI:SS"Z"'),
+                       to_char(month_start + INTERVAL '1 month', 'YYYY-MM-DD"T"HH24:MI:SS"Z"'));
+    END LOOP;
+END $$;
 
 -- 创建索引
 CREATE INDEX idx_sys_user_username ON sys_user(username);
 CREATE INDEX idx_sys_user_status ON sys_user(status);
+CREATE INDEX idx_sys_user_create_time ON sys_user(create_time, id);
+-- 用户关键字搜索（lower(列) LIKE '%关键字%'）使用的三元组索引，关键字不少于 3 个字符时生效
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_sys_user_username_trgm ON sys_user USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX idx_sys_user_nickname_trgm ON sys_user USING gin (lower(nickname) gin_trgm_ops);
+CREATE INDEX idx_sys_user_email_trgm ON sys_user USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX idx_sys_user_phone_trgm ON sys_user USING gin (lower(phone) gin_trgm_ops);
 CREATE INDEX idx_sys_role_code ON sys_role(code);
 CREATE INDEX idx_sys_menu_parent_id ON sys_menu(parent_id);
 CREATE INDEX idx_sys_menu_type ON sys_menu(type);
@@ -142,12 +167,15 @@ CREATE INDEX idx_sys_role_menu_role_id ON sys_role_menu(role_id);
 CREATE INDEX idx_sys_role_menu_menu_id ON sys_role_menu(menu_id);
 CREATE INDEX idx_sys_dict_type ON sys_dict(dict_type);
 CREATE INDEX idx_sys_dict_status ON sys_dict(status);
+CREATE INDEX idx_sys_dict_create_time ON sys_dict(create_time, id);
 CREATE INDEX idx_sys_dict_item_dict_id ON sys_dict_item(dict_id);
 CREATE INDEX idx_sys_dict_item_value ON sys_dict_item(value);
-CREATE INDEX idx_sys_log_user_id ON sys_log(user_id);
-CREATE INDEX idx_sys_log_module ON sys_log(module);
-CREATE INDEX idx_sys_log_operation_type ON sys_log(operation_type);
-CREATE INDEX idx_sys_log_create_time ON sys_log(create_time);
+-- 操作日志：BRIN 索引支撑按时间范围筛选（体积很小，适合只追加的日志表），
+-- (create_time, id) B-Tree 索引支撑游标分页的有序扫描
+CREATE INDEX idx_sys_log_create_time_brin ON sys_log USING brin (create_time);
+CREATE INDEX idx_sys_log_create_time ON sys_log(create_time, id);
+CREATE INDEX idx_sys_log_user_time ON sys_log(user_id, create_time);
+CREATE INDEX idx_sys_log_module_time ON sys_log(module, create_time);
 
 -- 插入初始数据
 
@@ -188,6 +216,18 @@ INSERT INTO sys_menu (parent_id, type, name, path, component, perm_key, icon, so
 ((SELECT id FROM sys_menu WHERE name = '菜单管理'), 2, '编辑菜单', NULL, NULL, 'menu:edit', NULL, 2, 0, 1),
 ((SELECT id FROM sys_menu WHERE name = '菜单管理'), 2, '删除菜单', NULL, NULL, 'menu:delete', NULL, 3, 0, 1);
 
+-- 在线用户
+INSERT INTO sys_menu (parent_id, type, name, path, component, perm_key, icon, sort_order, visible, status) VALUES
+((SELECT id FROM sys_menu WHERE name = '系统管理'), 1, '在线用户', '/system/online', 'system/online/index', 'online:query', 'Monitor', 4, 1, 1);
+INSERT INTO sys_menu (parent_id, type, name, path, component, perm_key, icon, sort_order, visible, status) VALUES
+((SELECT id FROM sys_menu WHERE name = '在线用户'), 2, '强制下线', NULL, NULL, 'online:logout', NULL, 1, 0, 1);
+
+-- 操作日志
+INSERT INTO sys_menu (parent_id, type, name, path, component, perm_key, icon, sort_order, visible, status) VALUES
+((SELECT id FROM sys_menu WHERE name = '系统管理'), 1, '操作日志', '/system/log', 'system/log/index', 'log:query', 'Tickets', 5, 1, 1);
+INSERT INTO sys_menu (parent_id, type, name, path, component, perm_key, icon, sort_order, visible, status) VALUES
+((SELECT id FROM sys_menu WHERE name = '操作日志'), 2, '导出日志', NULL, NULL, 'log:export', NULL, 1, 0, 1);
+
 -- 为管理员角色分配所有菜单权限
 INSERT INTO sys_role_menu (role_id, menu_id)
 SELECT r.id, m.id FROM sys_role r, sys_menu m
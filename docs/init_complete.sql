@@ -155,7 +155,7 @@ CREATE TABLE sys_dict_item (
 
 -- 操作日志表
 CREATE TABLE sys_log (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     user_id BIGINT,
     username TEXT,
     module TEXT,
@@ -172,16 +172,36 @@ CREATE TABLE sys_log (
     error_msg TEXT,
     create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     update_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    deleted BOOLEAN NOT NULL DEFAULT FALSE
-);
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id, create_time)
+) PARTITION BY RANGE (create_time);
+
+-- 操作日志按月分区（分区名 sys_log_yyyyMM），应用启动时会预建后续月份的分区并删除超过保留期的分区；
+-- 默认分区用于兜底，正常情况下不应有数据
+CREATE TABLE sys_log_default PARTITION OF sys_log DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN 0..2 LOOP
+        month_start := (date_trunc('month', CURRENT_DATE) + make_interval(months => i))::DATE;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF sys_log FOR VALUES FROM (%L) TO (%L)',
+                       'sys_log_' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + INTERVAL '1 month')::DATE);
+    END LOOP;
+END $$;
 
 -- Refresh Token 表
 CREATE TABLE sys_refresh_token (
     id BIGSERIAL PRIMARY KEY,
     user_id BIGINT NOT NULL,
     token VARCHAR(255) NOT NULL UNIQUE,
+    session_jti VARCHAR(64),
     expiry_date TIMESTAMP WITH TIME ZONE NOT NULL,
     revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    rotated_at TIMESTAMP WITH TIME ZONE,
+    replaced_by VARCHAR(255),
     create_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     update_time TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
@@ -192,6 +212,13 @@ CREATE TABLE sys_refresh_token (
 
 CREATE INDEX idx_sys_user_username ON sys_user(username);
 CREATE INDEX idx_sys_user_status ON sys_user(status);
+CREATE INDEX idx_sys_user_create_time ON sys_user(create_time, id);
+-- 用户关键字搜索（lower(列) LIKE '%关键字%'）使用的三元组索引，关键字不少于 3 个字符时生效
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_sys_user_username_trgm ON sys_user USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX idx_sys_user_nickname_trgm ON sys_user USING gin (lower(nickname) gin_trgm_ops);
+CREATE INDEX idx_sys_user_email_trgm ON sys_user USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX idx_sys_user_phone_trgm ON sys_user USING gin (lower(phone) gin_trgm_ops);
 
 CREATE INDEX idx_sys_role_code ON sys_role(code);
 
@@ -211,14 +238,17 @@ CREATE INDEX idx_sys_role_menu_menu_id ON sys_role_menu(menu_id);
 
 CREATE INDEX idx_sys_dict_type ON sys_dict(dict_type);
 CREATE INDEX idx_sys_dict_status ON sys_dict(status);
+CREATE INDEX idx_sys_dict_create_time ON sys_dict(create_time, id);
 
 CREATE INDEX idx_sys_dict_item_dict_id ON sys_dict_item(dict_id);
 CREATE INDEX idx_sys_dict_item_value ON sys_dict_item(value);
 
-CREATE INDEX idx_sys_log_user_id ON sys_log(user_id);
-CREATE INDEX idx_sys_log_module ON sys_log(module);
-CREATE INDEX idx_sys_log_operation_type ON sys_log(operation_type);
-CREATE INDEX idx_sys_log_create_time ON sys_log(create_time);
+-- 操作日志：BRIN 索引支撑按时间范围筛选（体积很小，适合只追加的日志表），
+-- (create_time, id) B-Tree 索引支撑游标分页的有序扫描
+CREATE INDEX idx_sys_log_create_time_brin ON sys_log USING brin (create_time);
+CREATE INDEX idx_sys_log_create_time ON sys_log(create_time, id);
+CREATE INDEX idx_sys_log_user_time ON sys_log(user_id, create_time);
+CREATE INDEX idx_sys_log_module_time ON sys_log(module, create_time);
 
 CREATE INDEX idx_sys_refresh_token_user_id ON sys_refresh_token(user_id);
 CREATE INDEX idx_sys_refresh_token_token ON sys_refresh_token(token);
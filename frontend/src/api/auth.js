@@ -48,4 +48,14 @@ export const logout = () => {
     url: '/v1/auth/logout',
     method: 'post'
   })
-}
\ No newline at end of file
+}
+/**
+ * 在线心跳，刷新当前会话的最后活跃时间
+ * @returns {Promise<boolean>} 当前会话是否仍然在线
+ */
+export const heartbeat = () => {
+  return request({
+    url: '/v1/auth/heartbeat',
+    method: 'post'
+  })
+}
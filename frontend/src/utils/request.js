@@ -57,11 +57,12 @@ const refreshToken = async () => {
     }
 
     const response = await axios.post(
-      `${import.meta.env.VITE_API_BASE_URL || '/api'}/auth/refresh`,
+      `${import.meta.env.VITE_API_BASE_URL || '/api'}/v1/auth/refresh`,
       { refreshToken: refreshTokenValue }
     )
 
-    const { token, refreshToken: newRefreshToken } = response.data
+    // 服务端每次刷新都会轮换 refresh token，原 refresh token 随即失效
+    const { token, refreshToken: newRefreshToken } = response.data.data
 
     // 使用加密存储更新 sessionStorage
     await setEncryptedSession('token', token)